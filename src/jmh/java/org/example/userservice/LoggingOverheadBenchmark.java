@@ -0,0 +1,120 @@
+package org.example.userservice;
+
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of logging over real HTTP against an embedded H2 database: the default
+ * configuration (every statement echoed and logged at DEBUG through synchronous appenders)
+ * against the prod profile (asynchronous Log4j2, slow-query log only). The lookup cache is off
+ * so every request runs SQL. Standard output goes to {@code target/logging-benchmark-<profile>.log},
+ * as it would to a container log, rather than through the JMH console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingOverheadBenchmark {
+
+    private static final int SIZE = 10_000;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private String baseUrl;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        System.setOut(new PrintStream(new FileOutputStream("target/logging-benchmark-" + profile + ".log"), false));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(UserServiceApplication.class);
+        if (profile.equals("prod")) {
+            builder.profiles("prod");
+        }
+        context = builder.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:logging;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.sql.init.mode=never",
+                "--app.users.cache.enabled=false");
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/users/";
+
+        UserService userService = context.getBean(UserService.class);
+        ids = new long[SIZE];
+        for (int start = 0; start < SIZE; start += SEED_BATCH_SIZE) {
+            List<UserRequest> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = start; i < start + SEED_BATCH_SIZE; i++) {
+                batch.add(new UserRequest("User " + i, "user" + i + "@example.com", 20 + i % 50));
+            }
+            for (BatchItemResult result : userService.createUsers(batch).getResults()) {
+                ids[start + result.getIndex()] = result.getUser().getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.out.flush();
+    }
+
+    @Benchmark
+    public int getUser() throws IOException, InterruptedException {
+        long id = ids[ThreadLocalRandom.current().nextInt(SIZE)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int updateUser() throws IOException, InterruptedException {
+        int i = ThreadLocalRandom.current().nextInt(SIZE);
+        String body = "{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@example.com\",\"age\":"
+                + ThreadLocalRandom.current().nextInt(18, 90) + "}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ids[i]))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.userservice;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the packaged service, measured as the time from launching the JVM to the first
+ * {@code 200} from {@code GET /api/users?limit=1}, which needs the web server, the context and
+ * a database round trip. Every invocation is a fresh process; the application is stopped
+ * outside the measured time.
+ *
+ * <ul>
+ *   <li>{@code default}: the executable jar with the default profile ({@code ddl-auto: update}).</li>
+ *   <li>{@code validate}: the extracted jar with the fast-startup profile, without AOT or CDS.</li>
+ *   <li>{@code aot}: the same with the AOT-generated bean definitions.</li>
+ *   <li>{@code aot-cds}: the same with the CDS archive from the training run as well.</li>
+ * </ul>
+ *
+ * Needs {@code mvn -Pfast-startup -DskipTests package} first, a database holding the schema, and
+ * its connection settings in {@code appArgs}, for example:
+ * <pre>
+ * mvn -Pfast-startup,benchmarks -DskipTests verify -Djmh.include=StartupBenchmark \
+ *     -Djmh.args="-p appArgs='--spring.datasource.url=jdbc:postgresql://db:5432/userdb --spring.datasource.password=secret'"
+ * </pre>
+ * {@code extraClasspath} is appended to the application's class path (a different JDBC driver,
+ * say). Launch logs go to {@code target/startup-benchmark-<mode>.log}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String JAR_NAME = "Hm4UserDaoSpring-0.0.1-SNAPSHOT.jar";
+    private static final String JAR_LAUNCHER = "org.springframework.boot.loader.launch.JarLauncher";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"default", "validate", "aot", "aot-cds"})
+    private String mode;
+
+    @Param({"target"})
+    private String buildDirectory;
+
+    @Param({""})
+    private String appArgs;
+
+    @Param({""})
+    private String extraClasspath;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void checkBuild() {
+        for (String required : List.of(JAR_NAME, "fast-startup/" + JAR_NAME, "fast-startup/application.jsa")) {
+            if (!Files.exists(Path.of(buildDirectory, required))) {
+                throw new IllegalStateException(Path.of(buildDirectory, required)
+                        + " is missing; run mvn -Pfast-startup -DskipTests package first");
+            }
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of(buildDirectory, "startup-benchmark-" + mode + ".log").toFile())
+                .start();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue()
+                        + "; see " + buildDirectory + "/startup-benchmark-" + mode + ".log");
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    private List<String> command(int port) {
+        // The same JVM as the benchmark: a CDS archive only loads on the JDK that dumped it.
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        String jar;
+        String mainClass;
+        if (mode.equals("default")) {
+            jar = Path.of(buildDirectory, JAR_NAME).toString();
+            mainClass = JAR_LAUNCHER;
+        } else {
+            jar = Path.of(buildDirectory, "fast-startup", JAR_NAME).toString();
+            mainClass = UserServiceApplication.class.getName();
+            command.add("-Dspring.profiles.active=fast-startup");
+            if (mode.startsWith("aot")) {
+                command.add("-Dspring.aot.enabled=true");
+            }
+            if (mode.equals("aot-cds")) {
+                command.add("-XX:SharedArchiveFile=" + Path.of(buildDirectory, "fast-startup", "application.jsa"));
+            }
+        }
+        command.add("-cp");
+        command.add(extraClasspath.isBlank() ? jar : jar + File.pathSeparator + extraClasspath);
+        command.add(mainClass);
+        command.add("--server.port=" + port);
+        command.addAll(Arrays.stream(appArgs.trim().split("\\s+")).filter(arg -> !arg.isEmpty()).toList());
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
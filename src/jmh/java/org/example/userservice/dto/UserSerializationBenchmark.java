@@ -0,0 +1,95 @@
+package org.example.userservice.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.userservice.cache.UserJsonCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter singleWriter;
+    private ObjectWriter pageWriter;
+    private UserResponse single;
+    private UserPageResponse page;
+    private byte[] singleJson;
+    private UserJsonCache userJsonCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper (JavaTimeModule, ISO dates).
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        singleWriter = objectMapper.writerFor(UserResponse.class);
+        pageWriter = objectMapper.writerFor(UserPageResponse.class);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<UserResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new UserResponse((long) i + 1, "User " + i, "user" + i + "@example.com", 20 + i % 50,
+                    createdAt.plusSeconds(i), 0L));
+        }
+        single = items.get(0);
+        page = new UserPageResponse(items, "aWQ6MTAw", (long) size);
+        singleJson = singleWriter.writeValueAsBytes(single);
+
+        // Warm: every user of the page is already encoded, as on a hot list endpoint.
+        userJsonCache = new UserJsonCache(objectMapper, true, 256L << 20);
+        userJsonCache.writePage(page, new ByteArrayOutputStream());
+    }
+
+    @Benchmark
+    public byte[] serializeUserResponse() throws JsonProcessingException {
+        return singleWriter.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPageWithDefaultMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPagePreEncoded() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userJsonCache.writePage(page, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public UserResponse deserializeUserResponse() throws IOException {
+        return objectMapper.readValue(singleJson, UserResponse.class);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.userservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.userservice.config.BinaryFormatsConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a page of users in each wire format the API negotiates. The
+ * payload size of every combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserWireFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private UserPageResponse page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Same mappers as the HTTP message converters.
+        ObjectMapper mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()));
+            case "smile" -> BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()));
+            default -> throw new IllegalArgumentException(format);
+        };
+        writer = mapper.writerFor(UserPageResponse.class);
+        reader = mapper.readerFor(UserPageResponse.class);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<UserResponse> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new UserResponse((long) i + 1, "User " + i, "user" + i + "@example.com", 20 + i % 50,
+                    createdAt.plusSeconds(i), (long) i % 3));
+        }
+        page = new UserPageResponse(items, "aWQ6MTAw", (long) size);
+        encoded = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s payload for %d users: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public UserPageResponse decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
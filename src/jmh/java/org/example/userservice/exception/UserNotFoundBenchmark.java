@@ -0,0 +1,76 @@
+package org.example.userservice.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The miss path of {@code GET /api/users/{id}}: throw {@link UserNotFoundException} from
+ * {@code depth} frames down (a servlet request sits well over a hundred frames deep), let
+ * {@link GlobalExceptionHandler} turn it into a 404 and serialize the body. Run with
+ * {@code stackTraces=true} for the behaviour before domain exceptions went stackless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class UserNotFoundBenchmark {
+
+    @Param({"true", "false"})
+    private boolean stackTraces;
+
+    @Param({"150"})
+    private int depth;
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DomainException.captureStackTraces(stackTraces);
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DomainException.captureStackTraces(false);
+    }
+
+    @Benchmark
+    public byte[] missById() throws JsonProcessingException {
+        try {
+            return lookup(depth, 42L);
+        } catch (UserNotFoundException e) {
+            ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleUserNotFound(e);
+            return objectMapper.writeValueAsBytes(response.getBody());
+        }
+    }
+
+    private static byte[] lookup(int depth, long id) {
+        if (depth > 0) {
+            return lookup(depth - 1, id);
+        }
+        throw new UserNotFoundException(id);
+    }
+}
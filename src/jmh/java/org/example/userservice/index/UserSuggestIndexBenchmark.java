@@ -0,0 +1,73 @@
+package org.example.userservice.index;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSuggestion;
+import org.example.userservice.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * Lookup latency of the suggest index for a short and a selective prefix. The index is
+ * built from an in-memory stream, so no database or Spring context is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSuggestIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Carla", "David", "Elena", "Felix", "Greta", "Hugo"};
+
+    @Param({"10000", "1000000"})
+    private int users;
+
+    private UserSuggestIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> LongStream.rangeClosed(1, users)
+                        .mapToObj(id -> new UserResponse(id, FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " User" + id,
+                                "user" + id + "@example.com", 30, createdAt, 0L)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate() {
+            @Override
+            public void executeWithoutResult(Consumer<org.springframework.transaction.TransactionStatus> action) {
+                action.accept(null);
+            }
+        };
+        index = new UserSuggestIndex(repository, transactionTemplate, true, 0);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<UserSuggestion> suggestBroadPrefix() {
+        return index.suggest("an", 10);
+    }
+
+    @Benchmark
+    public List<UserSuggestion> suggestSelectivePrefix() {
+        return index.suggest("user4242", 10);
+    }
+}
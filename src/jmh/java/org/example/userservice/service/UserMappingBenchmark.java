@@ -0,0 +1,64 @@
+package org.example.userservice.service;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private UserService userService;
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // convertToResponse touches none of the collaborators.
+        userService = new UserService(null, null, null, null, null, null, null, null, null, null);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User("User " + i, "user" + i + "@example.com", 20 + i % 50);
+            user.setId((long) i + 1);
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public void convertToResponse(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(userService.convertToResponse(user));
+        }
+    }
+
+    @Benchmark
+    public List<UserResponse> convertToResponseList() {
+        List<UserResponse> responses = new ArrayList<>(users.size());
+        for (User user : users) {
+            responses.add(userService.convertToResponse(user));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.userservice.service;
+
+import org.example.userservice.UserServiceApplication;
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserPatchRequest;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the real {@link UserService} (repositories, transactions, validation) against an embedded H2
+ * database seeded with {@code size} users. The lookup cache is disabled so reads measure the database
+ * path; the email Bloom filter stays on as it does in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceCrudBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long[] ids;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Passed as arguments so they take precedence over application.yml.
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.example.userservice=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--app.users.cache.enabled=false");
+        userService = context.getBean(UserService.class);
+
+        ids = new long[size];
+        for (int start = 0; start < size; start += SEED_BATCH_SIZE) {
+            List<UserRequest> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = start; i < Math.min(size, start + SEED_BATCH_SIZE); i++) {
+                batch.add(new UserRequest("User " + i, seedEmail(i), 20 + i % 50));
+            }
+            for (BatchItemResult result : userService.createUsers(batch).getResults()) {
+                ids[start + result.getIndex()] = result.getUser().getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse getUserById() {
+        return userService.getUserById(ids[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    @Benchmark
+    public UserResponse getUserByEmail() {
+        return userService.getUserByEmail(seedEmail(ThreadLocalRandom.current().nextInt(size)));
+    }
+
+    @Benchmark
+    public UserPageResponse getAllUsersPage() {
+        return userService.getAllUsers(UserService.DEFAULT_PAGE_SIZE, null, false);
+    }
+
+    @Benchmark
+    public UserResponse updateUser() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        return userService.updateUser(ids[i], new UserRequest("User " + i, seedEmail(i),
+                ThreadLocalRandom.current().nextInt(18, 90)));
+    }
+
+    @Benchmark
+    public UserResponse patchUserAge() {
+        return userService.patchUser(ids[ThreadLocalRandom.current().nextInt(size)],
+                new UserPatchRequest(null, null, ThreadLocalRandom.current().nextInt(18, 90)));
+    }
+
+    /**
+     * Create and delete in one invocation so the table keeps {@code size} rows across iterations.
+     */
+    @Benchmark
+    public UserResponse createAndDeleteUser() {
+        long n = sequence.incrementAndGet();
+        UserResponse created = userService.createUser(new UserRequest("Bench " + n, "bench" + n + "@example.com", 30));
+        userService.deleteUser(created.getId());
+        return created;
+    }
+
+    private static String seedEmail(int i) {
+        return "user" + i + "@example.com";
+    }
+}
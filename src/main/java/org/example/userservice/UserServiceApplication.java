@@ -1,13 +1,30 @@
 package org.example.userservice;
 
+import org.example.userservice.exception.DomainException;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(UserServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(UserServiceApplication.class);
+		application.addListeners(errorSettings());
+		application.run(args);
+	}
+
+	/**
+	 * Applies {@code app.errors.stack-traces} to {@link DomainException}. The switch is process-wide,
+	 * since the exceptions are created with {@code new} all over the service layer, so it is set once
+	 * here rather than by each application context (tests start many in one JVM).
+	 */
+	static ApplicationListener<ApplicationEnvironmentPreparedEvent> errorSettings() {
+		return event -> DomainException.captureStackTraces(
+				event.getEnvironment().getProperty("app.errors.stack-traces", Boolean.class, false));
 	}
 
 }
@@ -0,0 +1,206 @@
+package org.example.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.userservice.dto.UserResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caffeine-backed user cache keyed by id, with a secondary email-to-id index.
+ * Caffeine's W-TinyLFU policy handles eviction; the index is pruned from the
+ * removal listener so it never outlives the primary entry.
+ *
+ * <p>A read-through fill can race with a writer: the reader loads the old row, the
+ * writer commits and evicts, then the reader stores what it loaded. Every evict
+ * therefore leaves a tombstone for {@value #MAX_LOAD_SECONDS}s, and a fill is dropped
+ * if a tombstone for its id is newer than the stamp taken before its read (fills older
+ * than that are dropped outright). The check and the store run under the entry's lock,
+ * as does the removal in {@link #evict}, so one of them always sees the other. Entries
+ * are also never replaced by a lower version.
+ *
+ * <p>{@code fillsAllowed} is asked before every read-through fill; with replica routing it
+ * rejects reads that were not served by the primary, since a lagging replica's row would
+ * otherwise be cached for every client.
+ */
+public class CaffeineUserCache implements UserCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    static final int MAX_LOAD_SECONDS = 30;
+    private static final long MAX_LOAD_NANOS = Duration.ofSeconds(MAX_LOAD_SECONDS).toNanos();
+
+    private final Ticker ticker;
+    private final BooleanSupplier fillsAllowed;
+    private final Cache<Long, UserResponse> byId;
+    // Id to the ticker reading of its latest evict.
+    private final Cache<Long, Long> evictedAt;
+    private volatile long clearedAt;
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder estimatedBytes = new LongAdder();
+
+    public CaffeineUserCache(long maxEntries, long maxBytes, Duration ttl) {
+        this(maxEntries, maxBytes, ttl, () -> true);
+    }
+
+    public CaffeineUserCache(long maxEntries, long maxBytes, Duration ttl, BooleanSupplier fillsAllowed) {
+        this(maxEntries, maxBytes, ttl, fillsAllowed, Ticker.systemTicker());
+    }
+
+    CaffeineUserCache(long maxEntries, long maxBytes, Duration ttl, BooleanSupplier fillsAllowed, Ticker ticker) {
+        this.ticker = ticker;
+        this.fillsAllowed = fillsAllowed;
+        this.clearedAt = ticker.read() - 1;
+        this.evictedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofNanos(MAX_LOAD_NANOS))
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats();
+        if (maxBytes > 0) {
+            builder.maximumWeight(maxBytes)
+                    .weigher((Long id, UserResponse user) -> estimateBytes(user));
+        } else {
+            builder.maximumSize(maxEntries);
+        }
+        this.byId = builder
+                .removalListener((Long id, UserResponse user, RemovalCause cause) -> onRemoval(id, user))
+                .build();
+    }
+
+    @Override
+    public Optional<UserResponse> getById(Long id) {
+        return record(byId.getIfPresent(id));
+    }
+
+    @Override
+    public Optional<UserResponse> getByEmail(String email) {
+        Long id = idByEmail.get(email);
+        UserResponse user = id == null ? null : byId.getIfPresent(id);
+        if (user != null && !email.equals(user.getEmail())) {
+            user = null;
+        }
+        return record(user);
+    }
+
+    @Override
+    public void put(UserResponse user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        store(user, null);
+    }
+
+    @Override
+    public long readStamp() {
+        return ticker.read();
+    }
+
+    @Override
+    public void putLoaded(UserResponse user, long stamp) {
+        if (user == null || user.getId() == null || !fillsAllowed.getAsBoolean()) {
+            return;
+        }
+        store(user, stamp);
+    }
+
+    @Override
+    public void evict(Long id) {
+        // Tombstone first: a fill checking after this drops itself, one that already
+        // stored is removed below.
+        evictedAt.put(id, ticker.read());
+        byId.invalidate(id);
+    }
+
+    @Override
+    public void clear() {
+        clearedAt = ticker.read();
+        byId.invalidateAll();
+        idByEmail.clear();
+    }
+
+    @Override
+    public UserCacheStats stats() {
+        byId.cleanUp();
+        return new UserCacheStats(
+                hits.sum(),
+                misses.sum(),
+                byId.stats().evictionCount(),
+                byId.estimatedSize(),
+                estimatedBytes.sum());
+    }
+
+    private void store(UserResponse user, Long stamp) {
+        boolean[] stored = new boolean[1];
+        byId.asMap().compute(user.getId(), (id, existing) -> {
+            if (stamp != null && !isFresh(id, stamp)) {
+                return existing;
+            }
+            if (existing != null && isNewer(existing, user)) {
+                return existing;
+            }
+            stored[0] = true;
+            return user;
+        });
+        if (!stored[0]) {
+            return;
+        }
+        estimatedBytes.add(estimateBytes(user));
+        if (user.getEmail() != null) {
+            idByEmail.put(user.getEmail(), user.getId());
+        }
+    }
+
+    private boolean isFresh(Long id, long stamp) {
+        if (ticker.read() - stamp > MAX_LOAD_NANOS || clearedAt - stamp >= 0) {
+            return false;
+        }
+        Long evicted = evictedAt.getIfPresent(id);
+        return evicted == null || evicted - stamp < 0;
+    }
+
+    private static boolean isNewer(UserResponse existing, UserResponse candidate) {
+        return existing.getVersion() != null && candidate.getVersion() != null
+                && existing.getVersion() > candidate.getVersion();
+    }
+
+    static int estimateBytes(UserResponse user) {
+        int chars = length(user.getName()) + length(user.getEmail());
+        return ENTRY_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    private Optional<UserResponse> record(UserResponse user) {
+        if (user == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(user);
+    }
+
+    private void onRemoval(Long id, UserResponse user) {
+        if (user == null) {
+            return;
+        }
+        estimatedBytes.add(-estimateBytes(user));
+        if (user.getEmail() != null) {
+            idByEmail.remove(user.getEmail(), id);
+        }
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
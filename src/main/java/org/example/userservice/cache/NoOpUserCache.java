@@ -0,0 +1,44 @@
+package org.example.userservice.cache;
+
+import org.example.userservice.dto.UserResponse;
+
+import java.util.Optional;
+
+public class NoOpUserCache implements UserCache {
+
+    @Override
+    public Optional<UserResponse> getById(Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<UserResponse> getByEmail(String email) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(UserResponse user) {
+    }
+
+    @Override
+    public long readStamp() {
+        return 0;
+    }
+
+    @Override
+    public void putLoaded(UserResponse user, long stamp) {
+    }
+
+    @Override
+    public void evict(Long id) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public UserCacheStats stats() {
+        return new UserCacheStats(0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.userservice.cache;
+
+import org.example.userservice.dto.UserResponse;
+
+import java.util.Optional;
+
+public interface UserCache {
+
+    Optional<UserResponse> getById(Long id);
+
+    Optional<UserResponse> getByEmail(String email);
+
+    /** Stores a user just written by this instance. Never replaces a higher version. */
+    void put(UserResponse user);
+
+    /**
+     * Taken before reading a user from the database, and handed to {@link #putLoaded}
+     * with the result.
+     */
+    long readStamp();
+
+    /**
+     * Read-through fill. Skipped if the user was evicted (or the cache cleared) after
+     * {@code stamp} was taken, since the row read may predate the write that evicted it,
+     * and never replaces a higher version.
+     */
+    void putLoaded(UserResponse user, long stamp);
+
+    void evict(Long id);
+
+    void clear();
+
+    UserCacheStats stats();
+}
@@ -0,0 +1,32 @@
+package org.example.userservice.cache;
+
+import org.example.userservice.config.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    public UserCache userCache(
+            @Value("${app.users.cache.enabled:true}") boolean enabled,
+            @Value("${app.users.cache.max-entries:100000}") long maxEntries,
+            @Value("${app.users.cache.max-bytes:0}") long maxBytes,
+            @Value("${app.users.cache.ttl:10m}") Duration ttl,
+            ObjectProvider<ReadWriteRoutingDataSource> routing) {
+        if (!enabled) {
+            return new NoOpUserCache();
+        }
+        // With replica routing, lookups only fill the cache when they were pinned to the primary:
+        // a lagging replica's row would otherwise be served to every client, the writer included.
+        BooleanSupplier fillsAllowed = routing.getIfAvailable() == null
+                ? () -> true
+                : ReadWriteRoutingDataSource::isPinnedToPrimary;
+        return new CaffeineUserCache(maxEntries, maxBytes, ttl, fillsAllowed);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.userservice.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * UTF-8 JSON of individual users, encoded once per user version and reused for every
+ * response that contains that user, single or in a page. An entry only answers for the
+ * version it was encoded from, so a stale entry can never be served; evicting on writes
+ * just frees the memory early. When disabled every call encodes afresh.
+ */
+public class UserJsonCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter userWriter;
+    private final boolean enabled;
+    private final Cache<Long, Encoded> byId;
+
+    public UserJsonCache(ObjectMapper objectMapper, boolean enabled, long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.userWriter = objectMapper.writerFor(UserResponse.class);
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Encoded encoded) -> ENTRY_OVERHEAD_BYTES + encoded.json.length)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** The user's JSON, as the application's ObjectMapper writes it. Callers must not modify the array. */
+    public byte[] encode(UserResponse user) throws IOException {
+        if (!enabled || user.getId() == null || user.getVersion() == null) {
+            return userWriter.writeValueAsBytes(user);
+        }
+        long version = user.getVersion();
+        Encoded cached = byId.getIfPresent(user.getId());
+        if (cached != null && cached.version == version) {
+            return cached.json;
+        }
+        Encoded encoded = new Encoded(version, userWriter.writeValueAsBytes(user));
+        // Never let a slow reader of an old version replace a newer entry.
+        byId.asMap().merge(user.getId(), encoded, (existing, candidate) ->
+                existing.version > candidate.version ? existing : candidate);
+        return encoded.json;
+    }
+
+    /**
+     * Writes a page with the same shape the ObjectMapper would produce, splicing in each
+     * user's cached bytes instead of serializing it again. The envelope fields are written
+     * here by hand and must follow {@link UserPageResponse}.
+     */
+    public void writePage(UserPageResponse page, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeFieldName("items");
+        if (page.getItems() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            // The generator sees an empty array; the items go straight to the stream between its writes.
+            generator.flush();
+            boolean first = true;
+            for (UserResponse item : page.getItems()) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(encode(item));
+                first = false;
+            }
+            generator.writeEndArray();
+        }
+        generator.writeStringField("nextCursor", page.getNextCursor());
+        generator.writeFieldName("approximateTotal");
+        if (page.getApproximateTotal() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(page.getApproximateTotal());
+        }
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    public void evict(Long id) {
+        if (enabled) {
+            byId.invalidate(id);
+        }
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+    }
+
+    private record Encoded(long version, byte[] json) {
+    }
+}
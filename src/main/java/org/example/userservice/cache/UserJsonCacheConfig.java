@@ -0,0 +1,28 @@
+package org.example.userservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+public class UserJsonCacheConfig {
+
+    @Bean
+    public UserJsonCache userJsonCache(
+            ObjectMapper objectMapper,
+            @Value("${app.users.json-cache.enabled:false}") boolean enabled,
+            @Value("${app.users.json-cache.max-bytes:33554432}") long maxBytes) {
+        return new UserJsonCache(objectMapper, enabled, maxBytes);
+    }
+
+    /** Picked up by Spring Boot and placed ahead of the default converters. */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.users.json-cache", name = "enabled", havingValue = "true")
+    public UserJsonHttpMessageConverter userJsonHttpMessageConverter(UserJsonCache userJsonCache) {
+        return new UserJsonHttpMessageConverter(userJsonCache);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.userservice.cache;
+
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link UserResponse} and {@link UserPageResponse} bodies from {@link UserJsonCache}
+ * when JSON is the negotiated type. It sits ahead of the Jackson converter, so CBOR, Smile
+ * and every other body type still go through the usual converters. Write-only.
+ */
+public class UserJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final UserJsonCache userJsonCache;
+
+    public UserJsonHttpMessageConverter(UserJsonCache userJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.userJsonCache = userJsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserResponse.class == clazz || UserPageResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof UserResponse user) {
+            outputMessage.getBody().write(userJsonCache.encode(user));
+        } else {
+            userJsonCache.writePage((UserPageResponse) body, outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.userservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON for internal callers, chosen per request through the
+ * Accept and Content-Type headers: CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}). JSON stays the default. Both mappers start
+ * from the same builder as the JSON one, so the DTOs look the same apart from
+ * timestamps, which travel as epoch milliseconds (see {@link EpochMillisModule}).
+ *
+ * <p>These beans replace the converters Spring MVC would register on its own, which
+ * would use a plain mapper and write timestamps as arrays.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder.factory(new CBORFactory())));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder.factory(new SmileFactory())));
+    }
+
+    /** Registered last so its LocalDateTime handling wins over the Java time module's. */
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = builder.createXmlMapper(false).build();
+        mapper.registerModule(new EpochMillisModule());
+        return mapper;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.userservice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Read/write splitting, switched on with {@code app.datasource.routing.enabled}. The
+ * {@code spring.datasource.*} pool stays the primary; every URL in
+ * {@code app.datasource.routing.replica-urls} gets a read-only pool with the same Hikari
+ * settings. Transactions marked read-only (the repository lookups and service methods
+ * annotated {@code @Transactional(readOnly = true)}) run on a replica, all others on the
+ * primary. Replica health is not tracked: a replica that is down fails the reads sent to it.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${app.datasource.routing.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.routing.replica-username:}") String replicaUsername,
+            @Value("${app.datasource.routing.replica-password:}") String replicaPassword,
+            @Value("${app.datasource.routing.selection:round-robin}") String selection) {
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i).strip());
+            config.setPoolName("replica-" + i);
+            config.setReadOnly(true);
+            if (!replicaUsername.isEmpty()) {
+                config.setUsername(replicaUsername);
+                config.setPassword(replicaPassword);
+            }
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+                ReadWriteRoutingDataSource.Selection.valueOf(selection.strip().toUpperCase(Locale.ROOT).replace('-', '_')));
+    }
+
+    /** The data source everything else (JPA, JdbcTemplate, SQL init) sees. */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.datasource.routing.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.userservice.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Writes {@link LocalDateTime} as epoch milliseconds for the binary formats, where a
+ * number is far cheaper to encode and parse than an ISO-8601 string. Timestamps are
+ * recorded in the server's zone, so that zone is used to turn them into instants and
+ * back. ISO strings are still accepted on input.
+ */
+public class EpochMillisModule extends SimpleModule {
+
+    public EpochMillisModule() {
+        this(ZoneId.systemDefault());
+    }
+
+    public EpochMillisModule(ZoneId zone) {
+        super("EpochMillisModule");
+        addSerializer(LocalDateTime.class, new Serializer(zone));
+        addDeserializer(LocalDateTime.class, new Deserializer(zone));
+    }
+
+    private static final class Serializer extends StdScalarSerializer<LocalDateTime> {
+        private final ZoneId zone;
+
+        Serializer(ZoneId zone) {
+            super(LocalDateTime.class);
+            this.zone = zone;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.atZone(zone).toInstant().toEpochMilli());
+        }
+    }
+
+    private static final class Deserializer extends StdScalarDeserializer<LocalDateTime> {
+        private final ZoneId zone;
+
+        Deserializer(ZoneId zone) {
+            super(LocalDateTime.class);
+            this.zone = zone;
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()), zone);
+            }
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                return LocalDateTime.parse(parser.getText().trim());
+            }
+            return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.userservice.controller;
+
+import jakarta.validation.Valid;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BulkDeleteResponse;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserPatchRequest;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.service.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux version of {@link UserController} for the reactive profile, serving the
+ * same /api/users contract.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/users")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    @Autowired
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<UserResponse>> createUser(@Valid @RequestBody UserRequest userRequest) {
+        return userService.createUser(userRequest)
+                .map(userResponse -> ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(UserETags.of(userResponse))
+                        .body(userResponse));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchCreateResponse>> createUsers(@RequestBody List<UserRequest> userRequests) {
+        return userService.createUsers(userRequests).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserResponse>> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return userService.getUserById(id).map(this::withETag);
+        }
+        return userService.getUserVersion(id).flatMap(version -> {
+            String etag = UserETags.of(id, version);
+            if (UserETags.noneMatchFails(ifNoneMatch, etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<UserResponse>build());
+            }
+            return userService.getUserById(id).map(this::withETag);
+        });
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<UserPageResponse>> getAllUsers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return userService.getAllUsers(limit, after, includeTotal).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<UserPageResponse>> searchUsers(
+            @Valid UserSearchCriteria criteria,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return userService.searchUsers(criteria, limit, after).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponse> exportUsers() {
+        return userService.exportUsers();
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<UserResponse>> updateUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserRequest userRequest) {
+        return userService.updateUser(id, userRequest, UserETags.requiredVersion(ifMatch, id))
+                .map(this::withETag);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<UserResponse>> patchUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserPatchRequest patchRequest) {
+        return userService.patchUser(id, patchRequest, UserETags.requiredVersion(ifMatch, id))
+                .map(this::withETag);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return userService.deleteUser(id, UserETags.requiredVersion(ifMatch, id)).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @DeleteMapping
+    public Mono<ResponseEntity<BulkDeleteResponse>> deleteUsers(@RequestBody List<Long> ids) {
+        return userService.deleteUsers(ids).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/email/{email}")
+    public Mono<ResponseEntity<UserResponse>> getUserByEmail(@PathVariable String email) {
+        return userService.getUserByEmail(email).map(this::withETag);
+    }
+
+    private ResponseEntity<UserResponse> withETag(UserResponse userResponse) {
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).body(userResponse);
+    }
+}
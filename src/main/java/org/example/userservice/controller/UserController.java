@@ -1,62 +1,204 @@
 package org.example.userservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BulkDeleteResponse;
+import org.example.userservice.dto.IngestState;
+import org.example.userservice.dto.IngestStatus;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserPatchRequest;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSuggestion;
+import org.example.userservice.ingest.IngestTicket;
+import org.example.userservice.ingest.UserIngestQueue;
 import org.example.userservice.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserService userService;
+    private final UserIngestQueue ingestQueue;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
+    private final Duration exportTimeout;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserIngestQueue ingestQueue, ObjectMapper objectMapper,
+                          @Value("${app.users.export.timeout:30m}") Duration exportTimeout) {
         this.userService = userService;
+        this.ingestQueue = ingestQueue;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exportTimeout = exportTimeout;
     }
 
+    /** With the ingestion queue enabled the create is committed in a shared batch; the caller still waits for it. */
     @PostMapping
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest userRequest) {
-        UserResponse userResponse = userService.createUser(userRequest);
-        return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
+        UserResponse userResponse = ingestQueue.isEnabled()
+                ? ingestQueue.submitAndAwait(userRequest)
+                : userService.createUser(userRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(UserETags.of(userResponse)).body(userResponse);
     }
 
+    /**
+     * Fire-and-forget create: 202 with a status URL to poll, or 429 when the queue is full.
+     * With the ingestion queue disabled the user is created before answering (201).
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<IngestStatus> ingestUser(@Valid @RequestBody UserRequest userRequest) {
+        if (!ingestQueue.isEnabled()) {
+            UserResponse userResponse = userService.createUser(userRequest);
+            return ResponseEntity.created(URI.create("/api/users/" + userResponse.getId()))
+                    .body(new IngestStatus(null, IngestState.CREATED, userResponse, null));
+        }
+        IngestTicket ticket = ingestQueue.submit(userRequest);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/ingest/" + ticket.getId()))
+                .body(ticket.getStatus());
+    }
+
+    @GetMapping("/ingest/{ticket}")
+    public ResponseEntity<IngestStatus> getIngestStatus(@PathVariable String ticket) {
+        return ResponseEntity.ok(ingestQueue.status(ticket));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createUsers(@RequestBody List<UserRequest> userRequests) {
+        BatchCreateResponse response = userService.createUsers(userRequests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * A revalidation (If-None-Match) is checked against the version alone, so a 304 is
+     * answered from the cache or a single-column lookup without loading or serializing the user.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = UserETags.of(id, userService.getUserVersion(id));
+            if (UserETags.noneMatchFails(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserResponse userResponse = userService.getUserById(id);
-        return ResponseEntity.ok(userResponse);
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).body(userResponse);
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPageResponse> getAllUsers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        UserPageResponse page = userService.getAllUsers(limit, after, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<UserPageResponse> searchUsers(
+            @Valid UserSearchCriteria criteria,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        UserPageResponse page = userService.searchUsers(criteria, limit, after);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestion>> suggestUsers(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.suggestUsers(q, limit));
+    }
+
+    /** Streams on the MVC async executor with its own timeout; other async requests keep the global one. */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                userService.exportUsers(user -> writeLine(generator, user));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserRequest userRequest) {
-        UserResponse userResponse = userService.updateUser(id, userRequest);
-        return ResponseEntity.ok(userResponse);
+        UserResponse userResponse = userService.updateUser(id, userRequest, UserETags.requiredVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).body(userResponse);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserPatchRequest patchRequest) {
+        UserResponse userResponse = userService.patchUser(id, patchRequest, UserETags.requiredVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).body(userResponse);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<Void> deleteUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        userService.deleteUser(id, UserETags.requiredVersion(ifMatch, id));
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResponse> deleteUsers(@RequestBody List<Long> ids) {
+        BulkDeleteResponse response = userService.deleteUsers(ids);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<UserResponse> getUserByEmail(@PathVariable String email) {
         UserResponse userResponse = userService.getUserByEmail(email);
-        return ResponseEntity.ok(userResponse);
+        return ResponseEntity.ok().eTag(UserETags.of(userResponse)).body(userResponse);
+    }
+
+    private void writeLine(JsonGenerator generator, UserResponse user) {
+        try {
+            exportWriter.writeValue(generator, user);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,65 @@
+package org.example.userservice.controller;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.exception.PreconditionFailedException;
+
+/**
+ * Strong entity tags for users, of the form {@code "<id>.<version>"}. The version column
+ * changes on every write, so the tag can be compared without serializing the body.
+ */
+final class UserETags {
+
+    private static final String ANY = "*";
+
+    private UserETags() {
+    }
+
+    static String of(Long id, long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    static String of(UserResponse user) {
+        return user == null || user.getVersion() == null ? null : of(user.getId(), user.getVersion());
+    }
+
+    /** If-None-Match evaluation: weak comparison against each listed tag, or "*". */
+    static boolean noneMatchFails(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(ANY)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an If-Match header requires, or {@code null} when the header is absent
+     * or "*". Clients are expected to send back the single tag they were given; weak tags,
+     * tags of another user and lists can never match, so they fail the precondition.
+     */
+    static Long requiredVersion(String ifMatch, Long id) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals(ANY)) {
+            return null;
+        }
+        String prefix = "\"" + id + ".";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + tag + " does not match user " + id);
+    }
+}
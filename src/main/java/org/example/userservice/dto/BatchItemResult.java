@@ -0,0 +1,62 @@
+package org.example.userservice.dto;
+
+public class BatchItemResult {
+    private int index;
+    private BatchItemStatus status;
+    private UserResponse user;
+    private String error;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(int index, BatchItemStatus status, UserResponse user, String error) {
+        this.index = index;
+        this.status = status;
+        this.user = user;
+        this.error = error;
+    }
+
+    public static BatchItemResult created(int index, UserResponse user) {
+        return new BatchItemResult(index, BatchItemStatus.CREATED, user, null);
+    }
+
+    public static BatchItemResult conflict(int index, String error) {
+        return new BatchItemResult(index, BatchItemStatus.CONFLICT, null, error);
+    }
+
+    public static BatchItemResult invalid(int index, String error) {
+        return new BatchItemResult(index, BatchItemStatus.INVALID, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BatchItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BatchItemStatus status) {
+        this.status = status;
+    }
+
+    public UserResponse getUser() {
+        return user;
+    }
+
+    public void setUser(UserResponse user) {
+        this.user = user;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
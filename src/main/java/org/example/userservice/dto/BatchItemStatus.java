@@ -0,0 +1,7 @@
+package org.example.userservice.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    CONFLICT,
+    INVALID
+}
@@ -0,0 +1,9 @@
+package org.example.userservice.dto;
+
+public enum IngestState {
+    PENDING,
+    CREATED,
+    CONFLICT,
+    INVALID,
+    FAILED
+}
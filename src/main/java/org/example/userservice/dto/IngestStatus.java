@@ -0,0 +1,50 @@
+package org.example.userservice.dto;
+
+public class IngestStatus {
+    private String ticket;
+    private IngestState state;
+    private UserResponse user;
+    private String error;
+
+    public IngestStatus() {
+    }
+
+    public IngestStatus(String ticket, IngestState state, UserResponse user, String error) {
+        this.ticket = ticket;
+        this.state = state;
+        this.user = user;
+        this.error = error;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public IngestState getState() {
+        return state;
+    }
+
+    public void setState(IngestState state) {
+        this.state = state;
+    }
+
+    public UserResponse getUser() {
+        return user;
+    }
+
+    public void setUser(UserResponse user) {
+        this.user = user;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.userservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed user change as handed to a {@code UserEventPublisher}. Delivery is at least
+ * once, and events from different instances may arrive out of id order: consumers should
+ * deduplicate on {@code eventId} and order changes to one user by {@code userVersion}.
+ */
+public class UserChangeEvent {
+    private final long eventId;
+    private final UserChangeType type;
+    private final long userId;
+    private final Long userVersion;
+    private final String payload;
+    private final LocalDateTime occurredAt;
+
+    public UserChangeEvent(long eventId, UserChangeType type, long userId, Long userVersion,
+                           String payload, LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.type = type;
+        this.userId = userId;
+        this.userVersion = userVersion;
+        this.payload = payload;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public UserChangeType getType() {
+        return type;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    /** The user's version after the change; null for deletes. */
+    public Long getUserVersion() {
+        return userVersion;
+    }
+
+    /** The user's JSON as the API returns it; null for deletes. */
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserChangeEvent{eventId=" + eventId + ", type=" + type + ", userId=" + userId
+                + ", userVersion=" + userVersion + '}';
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.userservice.dto;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
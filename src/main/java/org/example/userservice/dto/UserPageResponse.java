@@ -0,0 +1,42 @@
+package org.example.userservice.dto;
+
+import java.util.List;
+
+public class UserPageResponse {
+    private List<UserResponse> items;
+    private String nextCursor;
+    private Long approximateTotal;
+
+    public UserPageResponse() {
+    }
+
+    public UserPageResponse(List<UserResponse> items, String nextCursor, Long approximateTotal) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<UserResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+
+/**
+ * Partial update for PATCH. Name and email are required columns, so leaving them out or
+ * sending {@code null} keeps the current value. Age is optional: left out it is kept, an
+ * explicit {@code "age": null} clears it.
+ */
+public class UserPatchRequest {
+
+    @Pattern(regexp = ".*\\S.*", message = "Name cannot be blank")
+    private String name;
+
+    @Email(message = "Email should be valid")
+    @Pattern(regexp = ".*\\S.*", message = "Email cannot be blank")
+    private String email;
+
+    @Min(value = 0, message = "Age cannot be negative")
+    private Integer age;
+
+    private boolean ageSet;
+
+    public UserPatchRequest() {
+    }
+
+    public UserPatchRequest(String name, String email, Integer age) {
+        this.name = name;
+        this.email = email;
+        this.age = age;
+        this.ageSet = age != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+        this.ageSet = true;
+    }
+
+    /** Whether the request carried an age, {@code null} included. */
+    @JsonIgnore
+    public boolean isAgeSet() {
+        return ageSet;
+    }
+}
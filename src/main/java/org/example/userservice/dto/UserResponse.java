@@ -8,6 +8,7 @@ public class UserResponse {
     private String email;
     private Integer age;
     private LocalDateTime createdAt;
+    private Long version;
 
     public UserResponse() {
     }
@@ -20,6 +21,11 @@ public class UserResponse {
         this.createdAt = createdAt;
     }
 
+    public UserResponse(Long id, String name, String email, Integer age, LocalDateTime createdAt, Long version) {
+        this(id, name, email, age, createdAt);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -59,4 +65,12 @@ public class UserResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,85 @@
+package org.example.userservice.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for GET /api/users/search, bound from query parameters. Every filter is
+ * optional; {@code createdFrom} is inclusive and {@code createdTo} exclusive.
+ */
+public class UserSearchCriteria {
+
+    @Size(max = 100, message = "Name prefix must be at most 100 characters")
+    private String name;
+
+    @Min(value = 0, message = "Age cannot be negative")
+    private Integer minAge;
+
+    @Min(value = 0, message = "Age cannot be negative")
+    private Integer maxAge;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    public UserSearchCriteria() {
+    }
+
+    public UserSearchCriteria(String name, Integer minAge, Integer maxAge,
+                              LocalDateTime createdFrom, LocalDateTime createdTo) {
+        this.name = name;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+
+    public boolean hasNamePrefix() {
+        return name != null && !name.isBlank();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    public void setMinAge(Integer minAge) {
+        this.minAge = minAge;
+    }
+
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Integer maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+}
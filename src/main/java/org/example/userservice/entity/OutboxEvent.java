@@ -0,0 +1,77 @@
+package org.example.userservice.entity;
+
+import jakarta.persistence.*;
+import org.example.userservice.dto.UserChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user change written in the same transaction as the change itself and removed once
+ * {@code OutboxRelay} has published it. Keep in sync with db/schema-*.sql.
+ */
+@Entity
+@Table(name = "user_outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_outbox_seq")
+    @SequenceGenerator(name = "user_outbox_seq", sequenceName = "user_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private UserChangeType type;
+
+    // The user's version after the change; null for deletes.
+    @Column(name = "user_version")
+    private Long userVersion;
+
+    // The user as the API returns it; null for deletes.
+    @Column(name = "payload", length = 2048)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(Long userId, UserChangeType type, Long userVersion, String payload) {
+        this.userId = userId;
+        this.type = type;
+        this.userVersion = userVersion;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UserChangeType getType() {
+        return type;
+    }
+
+    public Long getUserVersion() {
+        return userVersion;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,20 +1,34 @@
 package org.example.userservice.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+        // Back the /api/users/search filters. The trailing id lets the keyset-paged id scan
+        // be answered from the index alone. Keep in sync with db/schema-*.sql, which creates the
+        // name index with varchar_pattern_ops on PostgreSQL so it can serve prefix LIKE.
+        indexes = {
+                @Index(name = "idx_users_name_prefix", columnList = "name, id"),
+                @Index(name = "idx_users_age", columnList = "age, id"),
+                @Index(name = "idx_users_created_at", columnList = "created_at, id")
+        })
 public class User {
 
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
-    @Column(name = "email", nullable = false, unique = true, length = 255)
+    @Column(name = "email", nullable = false, length = 255)
     private String email;
 
     @Column(name = "age")
@@ -23,6 +37,12 @@ public class User {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Bumped on every write, including the bulk UPDATE statements in UserRepository; backs the ETags.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public User() {
         this.createdAt = LocalDateTime.now();
     }
@@ -73,5 +93,12 @@ public class User {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
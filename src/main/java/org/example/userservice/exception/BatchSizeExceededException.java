@@ -0,0 +1,7 @@
+package org.example.userservice.exception;
+
+public class BatchSizeExceededException extends DomainException {
+    public BatchSizeExceededException(int size, int maxSize) {
+        super("Batch of " + size + " users exceeds the maximum of " + maxSize);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.userservice.exception;
+
+/**
+ * Base for the exceptions that end up as 4xx responses. They describe a client error, not a
+ * fault in the code, so by default they skip stack-trace capture: filling in a trace walks
+ * every frame of the request (well over a hundred under Tomcat and the filter chain) and is
+ * most of the cost of a miss. Set {@code app.errors.stack-traces=true} to get traces back
+ * while debugging.
+ *
+ * <p>Subclasses may pass no message and override {@link #describe()} instead; the message
+ * is then only built if something reads it.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private static volatile boolean captureStackTraces;
+
+    private String describedMessage;
+
+    protected DomainException(String message) {
+        super(message, null, true, captureStackTraces);
+    }
+
+    protected DomainException() {
+        this(null);
+    }
+
+    public static void captureStackTraces(boolean enabled) {
+        captureStackTraces = enabled;
+    }
+
+    public static boolean isCapturingStackTraces() {
+        return captureStackTraces;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = super.getMessage();
+        if (message != null) {
+            return message;
+        }
+        // Racy but harmless: concurrent readers build the same string.
+        if (describedMessage == null) {
+            describedMessage = describe();
+        }
+        return describedMessage;
+    }
+
+    /** The message of an exception constructed without one. */
+    protected String describe() {
+        return null;
+    }
+}
@@ -1,7 +1,15 @@
 package org.example.userservice.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
+
+    private final String email;
+
     public EmailAlreadyExistsException(String email) {
-        super("Email already exists: " + email);
+        this.email = email;
+    }
+
+    @Override
+    protected String describe() {
+        return "Email already exists: " + email;
     }
 }
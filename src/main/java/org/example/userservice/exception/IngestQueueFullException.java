@@ -0,0 +1,7 @@
+package org.example.userservice.exception;
+
+public class IngestQueueFullException extends DomainException {
+    public IngestQueueFullException(String message) {
+        super(message);
+    }
+}
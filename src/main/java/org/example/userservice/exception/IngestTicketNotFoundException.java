@@ -0,0 +1,7 @@
+package org.example.userservice.exception;
+
+public class IngestTicketNotFoundException extends DomainException {
+    public IngestTicketNotFoundException(String ticket) {
+        super("Ingest ticket not found or expired: " + ticket);
+    }
+}
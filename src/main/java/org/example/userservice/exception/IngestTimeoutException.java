@@ -0,0 +1,22 @@
+package org.example.userservice.exception;
+
+import java.time.Duration;
+
+/**
+ * A queued create was not committed within the wait allowed to the caller. It may still
+ * commit later; its outcome stays available under its ticket.
+ */
+public class IngestTimeoutException extends RuntimeException {
+
+    private final String ticket;
+
+    public IngestTimeoutException(String ticket, Duration timeout) {
+        super("Create was not committed within " + timeout.toMillis() + " ms; its outcome will be at "
+                + "/api/users/ingest/" + ticket);
+        this.ticket = ticket;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.userservice.exception;
+
+public class InvalidCursorException extends DomainException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.userservice.exception;
+
+/** A user request that failed validation outside the controller's {@code @Valid} check. */
+public class InvalidUserRequestException extends DomainException {
+    public InvalidUserRequestException(String violations) {
+        super(violations);
+    }
+}
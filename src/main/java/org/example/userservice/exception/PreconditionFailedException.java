@@ -0,0 +1,11 @@
+package org.example.userservice.exception;
+
+public class PreconditionFailedException extends DomainException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(Long id, long currentVersion) {
+        super("User " + id + " has been modified; current version is " + currentVersion);
+    }
+}
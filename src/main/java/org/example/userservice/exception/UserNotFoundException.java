@@ -1,11 +1,32 @@
 package org.example.userservice.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends DomainException {
+
+    private final Long id;
+    private final String email;
+
     public UserNotFoundException(String message) {
         super(message);
+        this.id = null;
+        this.email = null;
     }
 
     public UserNotFoundException(Long id) {
-        super("User not found with id: " + id);
+        this.id = id;
+        this.email = null;
+    }
+
+    private UserNotFoundException(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public static UserNotFoundException byEmail(String email) {
+        return new UserNotFoundException(null, email);
+    }
+
+    @Override
+    protected String describe() {
+        return email != null ? "User not found with email: " + email : "User not found with id: " + id;
     }
 }
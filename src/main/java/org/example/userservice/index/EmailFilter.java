@@ -0,0 +1,212 @@
+package org.example.userservice.index;
+
+import org.example.userservice.repository.UserCountEstimator;
+import org.example.userservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of registered emails. Batch creates still probe the database for every
+ * email and check the filter's answers against the result; the counts show how far the
+ * filter has drifted from the table.
+ *
+ * <p>A negative answer is only as complete as what the filter has seen: it learns about
+ * writes that go through this instance's {@link org.example.userservice.service.UserService}
+ * and about whatever the last rebuild scanned. Rows written by other instances, the
+ * reactive stack or plain SQL are missing until the next rebuild, and an email added
+ * while a rebuild publishes its new filter can miss both. So a miss may be wrong, and
+ * nothing may be skipped on its strength. Deletes, email changes and misses the database
+ * contradicts count as stale entries; the filter is rebuilt once they exceed the
+ * configured ratio or it reaches its maximum age, and retried until the first build
+ * succeeds.
+ */
+@Component
+@Profile("!reactive")
+public class EmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailFilter.class);
+
+    private final UserRepository userRepository;
+    private final UserCountEstimator userCountEstimator;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long maxBytes;
+    private final double rebuildStaleRatio;
+    private final Duration maxAge;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private volatile Instant lastRebuild;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean buildAttempted;
+    private final LongAdder insertions = new LongAdder();
+    private final LongAdder staleEntries = new LongAdder();
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder databaseFallbacks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder wrongMisses = new LongAdder();
+
+    @Autowired
+    public EmailFilter(UserRepository userRepository,
+                       UserCountEstimator userCountEstimator,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${app.users.email-filter.enabled:true}") boolean enabled,
+                       @Value("${app.users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                       @Value("${app.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                       @Value("${app.users.email-filter.max-bytes:4194304}") long maxBytes,
+                       @Value("${app.users.email-filter.rebuild-stale-ratio:0.2}") double rebuildStaleRatio,
+                       @Value("${app.users.email-filter.max-age:1h}") Duration maxAge) {
+        this.userRepository = userRepository;
+        this.userCountEstimator = userCountEstimator;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBytes = maxBytes;
+        this.rebuildStaleRatio = rebuildStaleRatio;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Returns {@code false} if the filter has not seen the email. That is not proof the
+     * email is free (see the class comment).
+     */
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            databaseFallbacks.increment();
+            return true;
+        }
+        if (filter.mightContain(email)) {
+            databaseFallbacks.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    public void recordFalsePositives(long count) {
+        falsePositives.add(count);
+    }
+
+    /** Emails the filter missed but the database has: writes it never saw. */
+    public void recordWrongMisses(long count) {
+        wrongMisses.add(count);
+        staleEntries.add(count);
+    }
+
+    public void add(String email) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(email);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(email);
+        }
+        insertions.increment();
+    }
+
+    public void markStale(long count) {
+        staleEntries.add(count);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.email-filter.check-interval:1m}")
+    public void rebuildIfDrifted() {
+        if (!enabled) {
+            return;
+        }
+        if (current == null) {
+            // Retry a failed startup build; before the startup build, leave it to buildOnStartup.
+            if (buildAttempted) {
+                rebuild();
+            }
+            return;
+        }
+        long inserted = Math.max(1, insertions.sum());
+        boolean tooStale = staleEntries.sum() > inserted * rebuildStaleRatio;
+        boolean tooOld = lastRebuild.plus(maxAge).isBefore(Instant.now());
+        if (tooStale || tooOld) {
+            rebuild();
+        }
+    }
+
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        buildAttempted = true;
+        try {
+            Long estimate = userCountEstimator.estimateUserCount();
+            long capacity = Math.max(expectedInsertions, estimate == null ? 0 : estimate + estimate / 4);
+            BloomFilter next = BloomFilter.create(capacity, falsePositiveRate, maxBytes);
+            // Publish the new filter to writers before scanning so concurrent creates land in both.
+            building = next;
+            long count = transactionTemplate.execute(status -> {
+                long loaded = 0;
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    for (String email : (Iterable<String>) emails::iterator) {
+                        next.put(email);
+                        loaded++;
+                    }
+                }
+                return loaded;
+            });
+            current = next;
+            building = null;
+            insertions.reset();
+            insertions.add(count);
+            staleEntries.reset();
+            lastRebuild = Instant.now();
+            log.info("Rebuilt email filter with {} emails ({} bytes, expected false-positive rate {})",
+                    count, next.sizeInBytes(), next.expectedFalsePositiveRate(count));
+            return true;
+        } catch (RuntimeException e) {
+            building = null;
+            log.warn("Email filter rebuild failed; lookups keep using the previous filter", e);
+            return false;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public EmailFilterStats stats() {
+        BloomFilter filter = current;
+        long inserted = insertions.sum();
+        return new EmailFilterStats(
+                filter != null,
+                definiteMisses.sum(),
+                databaseFallbacks.sum(),
+                falsePositives.sum(),
+                wrongMisses.sum(),
+                inserted,
+                staleEntries.sum(),
+                filter == null ? 0 : filter.sizeInBytes(),
+                filter == null ? 0 : filter.hashCount(),
+                filter == null ? 1.0 : filter.expectedFalsePositiveRate(inserted),
+                lastRebuild);
+    }
+}
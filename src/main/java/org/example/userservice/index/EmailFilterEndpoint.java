@@ -0,0 +1,32 @@
+package org.example.userservice.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@Endpoint(id = "emailfilter")
+public class EmailFilterEndpoint {
+
+    private final EmailFilter emailFilter;
+
+    @Autowired
+    public EmailFilterEndpoint(EmailFilter emailFilter) {
+        this.emailFilter = emailFilter;
+    }
+
+    @ReadOperation
+    public EmailFilterStats stats() {
+        return emailFilter.stats();
+    }
+
+    @WriteOperation
+    public EmailFilterStats rebuild() {
+        emailFilter.rebuild();
+        return emailFilter.stats();
+    }
+}
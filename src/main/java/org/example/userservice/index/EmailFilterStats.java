@@ -0,0 +1,77 @@
+package org.example.userservice.index;
+
+import java.time.Instant;
+
+public class EmailFilterStats {
+    private final boolean ready;
+    private final long definiteMisses;
+    private final long databaseFallbacks;
+    private final long falsePositives;
+    private final long wrongMisses;
+    private final long insertions;
+    private final long staleEntries;
+    private final long sizeInBytes;
+    private final int hashFunctions;
+    private final double expectedFalsePositiveRate;
+    private final Instant lastRebuild;
+
+    public EmailFilterStats(boolean ready, long definiteMisses, long databaseFallbacks, long falsePositives,
+                            long wrongMisses, long insertions, long staleEntries, long sizeInBytes, int hashFunctions,
+                            double expectedFalsePositiveRate, Instant lastRebuild) {
+        this.ready = ready;
+        this.definiteMisses = definiteMisses;
+        this.databaseFallbacks = databaseFallbacks;
+        this.falsePositives = falsePositives;
+        this.wrongMisses = wrongMisses;
+        this.insertions = insertions;
+        this.staleEntries = staleEntries;
+        this.sizeInBytes = sizeInBytes;
+        this.hashFunctions = hashFunctions;
+        this.expectedFalsePositiveRate = expectedFalsePositiveRate;
+        this.lastRebuild = lastRebuild;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getDefiniteMisses() {
+        return definiteMisses;
+    }
+
+    public long getDatabaseFallbacks() {
+        return databaseFallbacks;
+    }
+
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    public long getWrongMisses() {
+        return wrongMisses;
+    }
+
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public long getStaleEntries() {
+        return staleEntries;
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+
+    public Instant getLastRebuild() {
+        return lastRebuild;
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.userservice.index;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSuggestion;
+import org.example.userservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-process prefix index over user names and emails for type-ahead suggestions.
+ *
+ * <p>Lower-cased terms live in a sorted skip list keyed by term and user id, so a lookup is
+ * a range scan that stops as soon as it has collected enough users. Every word of a name is
+ * a term of its own, so "doe" finds "John Doe". Readers never lock; writers serialize on
+ * the index they modify.
+ *
+ * <p>The index is built from a streaming scan once the application is ready, kept current
+ * by {@link org.example.userservice.service.UserService} after each commit, and rebuilt on a
+ * fixed interval to pick up writes made by other instances. Once the estimated size reaches
+ * the memory cap, further users are left out and suggestions become incomplete (reported
+ * in {@link #stats()}) until a rebuild under a larger cap.
+ */
+@Component
+@Profile("!reactive")
+public class UserSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSuggestIndex.class);
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    // Rough heap cost of one skip-list entry (node, index levels, key String) and of one user's record.
+    private static final int TERM_OVERHEAD_BYTES = 96;
+    private static final int USER_OVERHEAD_BYTES = 120;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    private volatile Terms current;
+    private volatile Terms building;
+    private volatile Instant lastRebuild;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder lookups = new LongAdder();
+
+    @Autowired
+    public UserSuggestIndex(UserRepository userRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.users.suggest.enabled:true}") boolean enabled,
+                            @Value("${app.users.suggest.max-bytes:67108864}") long maxBytes) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Up to {@code limit} users whose name, any word of their name, or email starts with
+     * {@code query} (case-insensitive), in term order. Empty until the index is built.
+     */
+    public List<UserSuggestion> suggest(String query, int limit) {
+        lookups.increment();
+        Terms terms = current;
+        String prefix = normalize(query);
+        if (terms == null || prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Long, UserSuggestion> matches = new LinkedHashMap<>();
+        for (UserSuggestion suggestion : terms.byKey.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            matches.putIfAbsent(suggestion.getId(), suggestion);
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return List.copyOf(matches.values());
+    }
+
+    /** Adds or replaces a user; an older version than the one indexed is ignored. */
+    public void put(UserResponse user) {
+        // Read building before current: a rebuild publishes current before clearing building,
+        // so a write can never miss the generation that is about to replace current.
+        Terms next = building;
+        Terms terms = current;
+        if (next != null) {
+            next.put(user);
+        }
+        if (terms != null && terms != next) {
+            terms.put(user);
+        }
+    }
+
+    public void remove(Long id) {
+        Terms next = building;
+        Terms terms = current;
+        if (next != null) {
+            next.remove(id);
+        }
+        if (terms != null && terms != next) {
+            terms.remove(id);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.suggest.rebuild-interval:30m}",
+            initialDelayString = "${app.users.suggest.rebuild-interval:30m}")
+    public void rebuildPeriodically() {
+        if (enabled && current != null) {
+            rebuild();
+        }
+    }
+
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            Terms next = new Terms(maxBytes);
+            // Publish to writers before scanning so commits made during the scan land in both.
+            building = next;
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+                    users.forEach(next::load);
+                }
+            });
+            next.loaded();
+            current = next;
+            building = null;
+            lastRebuild = Instant.now();
+            if (next.truncated) {
+                log.warn("Suggest index reached its {} byte cap after {} users; suggestions are incomplete",
+                        maxBytes, next.users.size());
+            } else {
+                log.info("Rebuilt suggest index with {} users and {} terms (~{} bytes)",
+                        next.users.size(), next.byKey.size(), next.estimatedBytes);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            building = null;
+            log.warn("Suggest index rebuild failed; lookups keep using the previous index", e);
+            return false;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public UserSuggestIndexStats stats() {
+        Terms terms = current;
+        return new UserSuggestIndexStats(
+                terms != null,
+                terms != null && terms.truncated,
+                terms == null ? 0 : terms.users.size(),
+                terms == null ? 0 : terms.byKey.size(),
+                terms == null ? 0 : terms.estimatedBytes,
+                maxBytes,
+                lookups.sum(),
+                lastRebuild);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /** The full name, the name from each later word on, and the email. */
+    static Set<String> termsOf(String name, String email) {
+        Set<String> terms = new LinkedHashSet<>();
+        String normalizedName = normalize(name);
+        if (!normalizedName.isEmpty()) {
+            terms.add(normalizedName);
+            for (int i = 1; i < normalizedName.length(); i++) {
+                if (Character.isWhitespace(normalizedName.charAt(i - 1))
+                        && !Character.isWhitespace(normalizedName.charAt(i))) {
+                    terms.add(normalizedName.substring(i));
+                }
+            }
+        }
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            terms.add(normalizedEmail);
+        }
+        return terms;
+    }
+
+    /** One generation of the index; replaced wholesale by a rebuild. */
+    private static final class Terms {
+        final ConcurrentSkipListMap<String, UserSuggestion> byKey = new ConcurrentSkipListMap<>();
+        final Map<Long, IndexedUser> users = new ConcurrentHashMap<>();
+        // Ids deleted while this generation is being loaded, so the scan cannot bring them back.
+        final Set<Long> removed = new HashSet<>();
+        final long maxBytes;
+        boolean loading = true;
+        volatile long estimatedBytes;
+        volatile boolean truncated;
+
+        Terms(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized void load(UserResponse user) {
+            if (!removed.contains(user.getId())) {
+                put(user);
+            }
+        }
+
+        synchronized void loaded() {
+            loading = false;
+            removed.clear();
+        }
+
+        synchronized void put(UserResponse user) {
+            long version = user.getVersion() == null ? 0 : user.getVersion();
+            IndexedUser existing = users.get(user.getId());
+            if (existing != null) {
+                if (existing.version > version) {
+                    return;
+                }
+                unlink(existing);
+            }
+            Set<String> terms = termsOf(user.getName(), user.getEmail());
+            long bytes = USER_OVERHEAD_BYTES;
+            for (String term : terms) {
+                bytes += TERM_OVERHEAD_BYTES + 2L * term.length();
+            }
+            if (maxBytes > 0 && estimatedBytes + bytes > maxBytes) {
+                truncated = true;
+                return;
+            }
+            UserSuggestion suggestion = new UserSuggestion(user.getId(), user.getName(), user.getEmail());
+            List<String> keys = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                String key = term + KEY_SEPARATOR + user.getId();
+                byKey.put(key, suggestion);
+                keys.add(key);
+            }
+            users.put(user.getId(), new IndexedUser(version, keys, bytes));
+            estimatedBytes += bytes;
+        }
+
+        synchronized void remove(Long id) {
+            if (loading) {
+                removed.add(id);
+            }
+            IndexedUser existing = users.remove(id);
+            if (existing != null) {
+                unlink(existing);
+            }
+        }
+
+        private void unlink(IndexedUser user) {
+            user.keys.forEach(byKey::remove);
+            estimatedBytes -= user.bytes;
+        }
+    }
+
+    private record IndexedUser(long version, List<String> keys, long bytes) {
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.userservice.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@Endpoint(id = "suggestindex")
+public class UserSuggestIndexEndpoint {
+
+    private final UserSuggestIndex suggestIndex;
+
+    @Autowired
+    public UserSuggestIndexEndpoint(UserSuggestIndex suggestIndex) {
+        this.suggestIndex = suggestIndex;
+    }
+
+    @ReadOperation
+    public UserSuggestIndexStats stats() {
+        return suggestIndex.stats();
+    }
+
+    @WriteOperation
+    public UserSuggestIndexStats rebuild() {
+        suggestIndex.rebuild();
+        return suggestIndex.stats();
+    }
+}
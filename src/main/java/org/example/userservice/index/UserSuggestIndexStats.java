@@ -0,0 +1,58 @@
+package org.example.userservice.index;
+
+import java.time.Instant;
+
+public class UserSuggestIndexStats {
+    private final boolean ready;
+    private final boolean truncated;
+    private final long users;
+    private final long terms;
+    private final long estimatedBytes;
+    private final long maxBytes;
+    private final long lookups;
+    private final Instant lastRebuild;
+
+    public UserSuggestIndexStats(boolean ready, boolean truncated, long users, long terms,
+                                 long estimatedBytes, long maxBytes, long lookups, Instant lastRebuild) {
+        this.ready = ready;
+        this.truncated = truncated;
+        this.users = users;
+        this.terms = terms;
+        this.estimatedBytes = estimatedBytes;
+        this.maxBytes = maxBytes;
+        this.lookups = lookups;
+        this.lastRebuild = lastRebuild;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getTerms() {
+        return terms;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public Instant getLastRebuild() {
+        return lastRebuild;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.userservice.ingest;
+
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.IngestState;
+import org.example.userservice.dto.IngestStatus;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.IngestTimeoutException;
+import org.example.userservice.exception.InvalidUserRequestException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/** One queued create: its status for polling clients and a future for waiting ones. */
+public class IngestTicket {
+
+    private final String id;
+    private final UserRequest request;
+    private final long acceptedAtNanos;
+    private final CompletableFuture<UserResponse> result = new CompletableFuture<>();
+    private volatile IngestStatus status;
+
+    IngestTicket(String id, UserRequest request, long acceptedAtNanos) {
+        this.id = id;
+        this.request = request;
+        this.acceptedAtNanos = acceptedAtNanos;
+        this.status = new IngestStatus(id, IngestState.PENDING, null, null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public IngestStatus getStatus() {
+        return status;
+    }
+
+    public CompletableFuture<UserResponse> getResult() {
+        return result;
+    }
+
+    /**
+     * Blocks until the batch holding this create has committed, then returns the user or
+     * rethrows why it was not stored (e.g. {@link EmailAlreadyExistsException}).
+     *
+     * @throws IngestTimeoutException if that takes longer than {@code timeout}; the create
+     *         stays queued and its status can still be polled
+     */
+    public UserResponse await(Duration timeout) {
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IngestTimeoutException(id, timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestTimeoutException(id, timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    UserRequest getRequest() {
+        return request;
+    }
+
+    long getAcceptedAtNanos() {
+        return acceptedAtNanos;
+    }
+
+    // The status is published before the future completes, so a caller returning from
+    // await() never polls a stale PENDING.
+    void complete(BatchItemResult item) {
+        switch (item.getStatus()) {
+            case CREATED -> {
+                status = new IngestStatus(id, IngestState.CREATED, item.getUser(), null);
+                result.complete(item.getUser());
+            }
+            case CONFLICT -> {
+                status = new IngestStatus(id, IngestState.CONFLICT, null, item.getError());
+                result.completeExceptionally(new EmailAlreadyExistsException(request.getEmail()));
+            }
+            case INVALID -> {
+                status = new IngestStatus(id, IngestState.INVALID, null, item.getError());
+                result.completeExceptionally(new InvalidUserRequestException(item.getError()));
+            }
+        }
+    }
+
+    void fail(RuntimeException e) {
+        if (result.isDone()) {
+            return;
+        }
+        IngestState state = e instanceof EmailAlreadyExistsException ? IngestState.CONFLICT
+                : e instanceof InvalidUserRequestException ? IngestState.INVALID
+                : IngestState.FAILED;
+        status = new IngestStatus(id, state, null, e.getMessage());
+        result.completeExceptionally(e);
+    }
+}
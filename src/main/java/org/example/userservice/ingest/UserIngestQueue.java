@@ -0,0 +1,288 @@
+package org.example.userservice.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.IngestStatus;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.IngestQueueFullException;
+import org.example.userservice.exception.IngestTicketNotFoundException;
+import org.example.userservice.exception.IngestTimeoutException;
+import org.example.userservice.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind path for single creates. Requests are parked in a bounded ring buffer and
+ * a single flusher thread commits them through {@link UserService#createUsers} in batches
+ * of up to {@code batch-size}, or whatever has arrived once the oldest request has waited
+ * {@code max-delay}. A burst of single POSTs then costs one transaction (and one commit
+ * fsync) per batch instead of one per user.
+ *
+ * <p>Emails still waiting in the queue are deduplicated in memory; emails that already
+ * exist are caught by the batch itself. A full queue rejects the request instead of
+ * blocking. Accepted requests live only in memory until their batch commits: on shutdown
+ * the queue stops accepting and flushes everything it holds before the data source is
+ * closed, but a crash loses what was not yet flushed. Callers waiting for their create
+ * give up after {@code await-timeout}, so a stalled flusher never pins request threads.
+ */
+@Component
+@Profile("!reactive")
+public class UserIngestQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIngestQueue.class);
+
+    private final UserService userService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Duration shutdownTimeout;
+    private final Duration awaitTimeout;
+    private final IngestRingBuffer<IngestTicket> ring;
+    private final Map<String, IngestTicket> pendingEmails = new ConcurrentHashMap<>();
+    private final Cache<String, IngestTicket> tickets;
+    // Accepted creates not yet committed or failed, on the ring or in the batch being filled.
+    // Capacity bounds this rather than the ring alone, which the flusher drains as it fills a batch.
+    private final AtomicInteger pending = new AtomicInteger();
+    // Submissions between the accepting check and their offer; shutdown waits for them to land.
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean accepting = true;
+    private volatile Thread flusher;
+    // Creates the flusher has already taken off the ring for the batch it is filling.
+    private volatile int held;
+    // Flusher thread only: when the batch being filled must go out.
+    private long batchDeadline;
+
+    @Autowired
+    public UserIngestQueue(UserService userService,
+                           @Value("${app.users.ingest.enabled:false}") boolean enabled,
+                           @Value("${app.users.ingest.capacity:16384}") int capacity,
+                           @Value("${app.users.ingest.batch-size:500}") int batchSize,
+                           @Value("${app.users.ingest.max-delay:10ms}") Duration maxDelay,
+                           @Value("${app.users.ingest.status-retention:10m}") Duration statusRetention,
+                           @Value("${app.users.ingest.shutdown-timeout:30s}") Duration shutdownTimeout,
+                           @Value("${app.users.ingest.await-timeout:10s}") Duration awaitTimeout) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.users.ingest.batch-size must be positive: " + batchSize);
+        }
+        this.userService = userService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.awaitTimeout = awaitTimeout;
+        this.ring = new IngestRingBuffer<>(capacity);
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled && flusher == null) {
+            Thread thread = new Thread(this::flushLoop, "user-ingest-flusher");
+            thread.setDaemon(true);
+            flusher = thread;
+            thread.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a validated create and returns at once. The ticket's future completes when
+     * its batch has committed.
+     *
+     * @throws EmailAlreadyExistsException if a create for the same email is still queued
+     * @throws IngestQueueFullException if the queue is full or shutting down
+     */
+    public IngestTicket submit(UserRequest request) {
+        if (!enabled) {
+            throw new IllegalStateException("User ingestion is disabled");
+        }
+        submitting.incrementAndGet();
+        try {
+            if (!accepting) {
+                rejected.increment();
+                throw new IngestQueueFullException("User ingestion is shutting down, retry later");
+            }
+            IngestTicket ticket = new IngestTicket(UUID.randomUUID().toString(), request, System.nanoTime());
+            if (pendingEmails.putIfAbsent(request.getEmail(), ticket) != null) {
+                throw new EmailAlreadyExistsException(request.getEmail());
+            }
+            if (pending.incrementAndGet() > ring.capacity() || !ring.offer(ticket)) {
+                release(ticket);
+                rejected.increment();
+                throw new IngestQueueFullException(
+                        "User ingestion queue is full (" + ring.capacity() + " pending), retry later");
+            }
+            tickets.put(ticket.getId(), ticket);
+            accepted.increment();
+            if (ring.size() + held >= batchSize) {
+                LockSupport.unpark(flusher);
+            }
+            return ticket;
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queues a create and waits for its batch to commit.
+     *
+     * @throws IngestTimeoutException if it has not committed within {@code await-timeout}
+     */
+    public UserResponse submitAndAwait(UserRequest request) {
+        return submit(request).await(awaitTimeout);
+    }
+
+    public IngestStatus status(String ticket) {
+        IngestTicket found = tickets.getIfPresent(ticket);
+        if (found == null) {
+            throw new IngestTicketNotFoundException(ticket);
+        }
+        return found.getStatus();
+    }
+
+    public UserIngestQueueStats stats() {
+        return new UserIngestQueueStats(enabled, enabled && accepting, ring.capacity(), pending.get(),
+                accepted.sum(), rejected.sum(), batches.sum(), created.sum(), failed.sum());
+    }
+
+    /** Stops accepting and waits for the flusher to commit everything already queued. */
+    @PreDestroy
+    public void close() {
+        accepting = false;
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("User ingestion queue did not drain within {}; {} creates were not stored",
+                    shutdownTimeout, pending.get());
+        }
+    }
+
+    private void flushLoop() {
+        List<IngestTicket> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                if (!flushNext(batch)) {
+                    return;
+                }
+            } catch (Throwable t) {
+                // Keep the flusher alive: fail what it holds and carry on with the rest of the queue.
+                log.error("User ingest flusher failed; failing {} held creates", batch.size(), t);
+                RuntimeException failure = new IllegalStateException("User ingestion failed", t);
+                for (IngestTicket ticket : batch) {
+                    release(ticket);
+                    failed.increment();
+                    ticket.fail(failure);
+                }
+                batch.clear();
+                held = 0;
+            }
+        }
+    }
+
+    /** One round of the flush loop; returns {@code false} once closed and drained. */
+    private boolean flushNext(List<IngestTicket> batch) {
+        IngestTicket ticket;
+        while (batch.size() < batchSize && (ticket = ring.poll()) != null) {
+            if (batch.isEmpty()) {
+                batchDeadline = ticket.getAcceptedAtNanos() + maxDelayNanos;
+            }
+            batch.add(ticket);
+        }
+        held = batch.size();
+        boolean closing = !accepting;
+        if (!batch.isEmpty()
+                && (batch.size() == batchSize || closing || System.nanoTime() - batchDeadline >= 0)) {
+            flush(batch);
+            batch.clear();
+            held = 0;
+            return true;
+        }
+        if (closing && batch.isEmpty() && submitting.get() == 0 && ring.isEmpty()) {
+            return false;
+        }
+        LockSupport.parkNanos(this, batch.isEmpty() ? maxDelayNanos : batchDeadline - System.nanoTime());
+        return true;
+    }
+
+    private void flush(List<IngestTicket> batch) {
+        List<UserRequest> requests = new ArrayList<>(batch.size());
+        for (IngestTicket ticket : batch) {
+            requests.add(ticket.getRequest());
+        }
+        List<BatchItemResult> results;
+        try {
+            results = userService.createUsers(requests).getResults();
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                // Typically an email taken by another writer after the batch's own check, which
+                // rolls back the whole batch; retrying one by one confines the failure to that item.
+                log.warn("Ingest batch of {} failed ({}); retrying its creates one at a time",
+                        batch.size(), e.getMessage());
+                for (IngestTicket ticket : batch) {
+                    flush(List.of(ticket));
+                }
+                return;
+            }
+            IngestTicket ticket = batch.get(0);
+            release(ticket);
+            failed.increment();
+            ticket.fail(e);
+            return;
+        }
+        batches.increment();
+        for (int i = 0; i < batch.size(); i++) {
+            IngestTicket ticket = batch.get(i);
+            BatchItemResult result = results.get(i);
+            release(ticket);
+            if (result.getUser() != null) {
+                created.increment();
+            }
+            ticket.complete(result);
+        }
+    }
+
+    /** Frees the ticket's email and its slot in the capacity; a second call is a no-op. */
+    private void release(IngestTicket ticket) {
+        if (pendingEmails.remove(ticket.getRequest().getEmail(), ticket)) {
+            pending.decrementAndGet();
+        }
+    }
+}
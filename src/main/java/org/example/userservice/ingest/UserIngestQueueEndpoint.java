@@ -0,0 +1,25 @@
+package org.example.userservice.ingest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@Endpoint(id = "ingestqueue")
+public class UserIngestQueueEndpoint {
+
+    private final UserIngestQueue ingestQueue;
+
+    @Autowired
+    public UserIngestQueueEndpoint(UserIngestQueue ingestQueue) {
+        this.ingestQueue = ingestQueue;
+    }
+
+    @ReadOperation
+    public UserIngestQueueStats stats() {
+        return ingestQueue.stats();
+    }
+}
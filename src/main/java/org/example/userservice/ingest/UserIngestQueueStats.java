@@ -0,0 +1,62 @@
+package org.example.userservice.ingest;
+
+public class UserIngestQueueStats {
+    private final boolean enabled;
+    private final boolean accepting;
+    private final int capacity;
+    private final int queued;
+    private final long accepted;
+    private final long rejected;
+    private final long batches;
+    private final long created;
+    private final long failed;
+
+    public UserIngestQueueStats(boolean enabled, boolean accepting, int capacity, int queued,
+                                long accepted, long rejected, long batches, long created, long failed) {
+        this.enabled = enabled;
+        this.accepting = accepting;
+        this.capacity = capacity;
+        this.queued = queued;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.batches = batches;
+        this.created = created;
+        this.failed = failed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.userservice.jdbc;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Statement-level hooks on the JDBC path. Every {@link QueryExecutionListener} bean is attached
+ * to the application's {@code dataSource} bean through a datasource-proxy wrapper; with no
+ * listener beans the data source is left unwrapped. Only the bean the application uses is
+ * wrapped, not the pools behind read/write routing, so each statement is seen once.
+ */
+@Configuration
+@Profile("!reactive")
+public class DataSourceProxyConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                List<QueryExecutionListener> attached = listeners.orderedStream().toList();
+                if (attached.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                attached.forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sql.slow-query.enabled", havingValue = "true")
+    public SlowQueryListener slowQueryListener(
+            @Value("${app.sql.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${app.sql.slow-query.max-per-second:5}") int maxPerSecond,
+            @Value("${app.sql.slow-query.redact-parameters:true}") boolean redactParameters) {
+        return new SlowQueryListener(threshold, maxPerSecond, redactParameters);
+    }
+
+    @Bean
+    @ConditionalOnExpression("${app.sql.statement-counter.enabled:false} or ${app.sql.query-budget.enabled:false}")
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sql.query-budget.enabled", havingValue = "true")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            @Value("${app.sql.query-budget.max-statements:10}") int maxStatements) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(maxStatements));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
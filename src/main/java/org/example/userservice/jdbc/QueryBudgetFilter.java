@@ -0,0 +1,45 @@
+package org.example.userservice.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the statements each API request runs on its own thread and logs the requests that
+ * run more than the budget, with their repeated SELECTs, the usual sign of an N+1. Requests
+ * within budget cost a thread-local lookup per statement and nothing else.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final int maxStatements;
+
+    public QueryBudgetFilter(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.Recording recording = StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recording.close();
+            if (recording.total() > maxStatements && log.isWarnEnabled()) {
+                Map<String, Integer> repeated = recording.repeated(StatementCounter.StatementKind.SELECT);
+                log.warn("{} {} ran {} statements, over the budget of {} ({}){}", request.getMethod(),
+                        request.getRequestURI(), recording.total(), maxStatements, recording.summary(),
+                        repeated.isEmpty() ? "" : "; repeated: " + repeated);
+            }
+        }
+    }
+}
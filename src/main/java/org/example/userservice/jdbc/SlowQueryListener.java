@@ -0,0 +1,126 @@
+package org.example.userservice.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Logs statements that took at least {@code threshold} to execute, in place of echoing every
+ * statement. Bind values are replaced by their types unless redaction is turned off, since
+ * they carry names and emails. At most {@code maxPerSecond} statements are logged per second;
+ * the rest are counted and reported with the next line that gets through, so a slow database
+ * cannot turn into a logging storm.
+ *
+ * <p>Statements under the threshold cost one comparison. The time is the driver's execute
+ * call only; fetching the rows afterwards is not included.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private final long thresholdMillis;
+    private final int maxPerSecond;
+    private final boolean redactParameters;
+    private final LongSupplier clock;
+
+    private final LongAdder slowQueries = new LongAdder();
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+    private volatile long currentSecond;
+
+    public SlowQueryListener(Duration threshold, int maxPerSecond, boolean redactParameters) {
+        this(threshold, maxPerSecond, redactParameters, System::currentTimeMillis);
+    }
+
+    SlowQueryListener(Duration threshold, int maxPerSecond, boolean redactParameters, LongSupplier clock) {
+        this.thresholdMillis = threshold.toMillis();
+        this.maxPerSecond = maxPerSecond;
+        this.redactParameters = redactParameters;
+        this.clock = clock;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        slowQueries.increment();
+        if (!tryAcquire()) {
+            suppressed.increment();
+            return;
+        }
+        logged.increment();
+        long skipped = suppressed.sumThenReset();
+        log.warn("Slow SQL ({} ms{}{}): {}", elapsed,
+                execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                skipped > 0 ? ", " + skipped + " more suppressed" : "",
+                describe(queryInfoList));
+    }
+
+    public long getSlowQueries() {
+        return slowQueries.sum();
+    }
+
+    public long getLoggedQueries() {
+        return logged.sum();
+    }
+
+    /** Fixed one-second windows; slow statements are rare enough that the reset may lock. */
+    private boolean tryAcquire() {
+        long second = clock.getAsLong() / 1000;
+        if (second != currentSecond) {
+            synchronized (this) {
+                if (second != currentSecond) {
+                    loggedThisSecond.set(0);
+                    currentSecond = second;
+                }
+            }
+        }
+        return loggedThisSecond.incrementAndGet() <= maxPerSecond;
+    }
+
+    String describe(List<QueryInfo> queryInfoList) {
+        StringJoiner statements = new StringJoiner("; ");
+        for (QueryInfo queryInfo : queryInfoList) {
+            String statement = queryInfo.getQuery();
+            List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+            // A batch repeats one statement; its first parameter set shows the shape.
+            if (!parameters.isEmpty() && !parameters.get(0).isEmpty()) {
+                statement += " " + describeParameters(parameters.get(0));
+            }
+            statements.add(statement);
+        }
+        return statements.toString();
+    }
+
+    private String describeParameters(List<ParameterSetOperation> operations) {
+        StringJoiner parameters = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+                parameters.add("null");
+            } else if (redactParameters) {
+                parameters.add(args[1].getClass().getSimpleName());
+            } else {
+                parameters.add(String.valueOf(args[1]));
+            }
+        }
+        return parameters.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.userservice.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the statements the current thread executes while a {@link Recording} is open, by
+ * kind and by exact SQL text, so tests can pin the number of round trips an operation costs
+ * and spot the same query running again and again (N+1). A JDBC batch is one round trip and
+ * counts once. Recordings nest: a statement counts toward every recording open on the thread.
+ *
+ * <p>Only the thread that opened a recording is counted; work handed to other threads (async
+ * exports, the ingest flusher) is not.
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    /** Starts counting on the current thread; close the recording to stop. */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Recording current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (Recording recording = current; recording != null; recording = recording.parent) {
+                recording.add(queryInfo.getQuery());
+            }
+        }
+    }
+
+    public enum StatementKind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        static StatementKind of(String sql) {
+            String statement = sql.stripLeading();
+            // Sequence fetches are selects, but Hibernate runs them once per allocation block,
+            // not per operation; counting them as OTHER keeps per-operation counts stable.
+            if (isSequenceFetch(statement)) {
+                return OTHER;
+            }
+            if (startsWithIgnoreCase(statement, "select") || startsWithIgnoreCase(statement, "with")) {
+                return SELECT;
+            }
+            if (startsWithIgnoreCase(statement, "insert")) {
+                return INSERT;
+            }
+            if (startsWithIgnoreCase(statement, "update")) {
+                return UPDATE;
+            }
+            if (startsWithIgnoreCase(statement, "delete")) {
+                return DELETE;
+            }
+            return OTHER;
+        }
+
+        private static boolean isSequenceFetch(String statement) {
+            String lower = statement.toLowerCase(Locale.ROOT);
+            return lower.contains("next value for") || lower.contains("nextval(");
+        }
+
+        private static boolean startsWithIgnoreCase(String text, String prefix) {
+            return text.regionMatches(true, 0, prefix, 0, prefix.length());
+        }
+    }
+
+    /** The statements of one thread between {@link #start()} and {@link #close()}. Not thread-safe. */
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final Map<StatementKind, Integer> byKind = new EnumMap<>(StatementKind.class);
+        private final Map<String, Integer> bySql = new LinkedHashMap<>();
+        private int total;
+        private boolean closed;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql) {
+            byKind.merge(StatementKind.of(sql), 1, Integer::sum);
+            bySql.merge(sql, 1, Integer::sum);
+            total++;
+        }
+
+        public int count(StatementKind kind) {
+            return byKind.getOrDefault(kind, 0);
+        }
+
+        public int total() {
+            return total;
+        }
+
+        /** Statements of the given kind that ran more than once with identical SQL, with their counts. */
+        public Map<String, Integer> repeated(StatementKind kind) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            bySql.forEach((sql, count) -> {
+                if (count > 1 && StatementKind.of(sql) == kind) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+
+        /** Counts by kind in a fixed order, e.g. {@code "3 select, 1 update"}. */
+        public String summary() {
+            StringBuilder summary = new StringBuilder();
+            byKind.forEach((kind, count) -> {
+                if (summary.length() > 0) {
+                    summary.append(", ");
+                }
+                summary.append(count).append(' ').append(kind.name().toLowerCase(Locale.ROOT));
+            });
+            return summary.length() == 0 ? "none" : summary.toString();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() != this) {
+                throw new IllegalStateException("Statement recordings must be closed in reverse order of starting");
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
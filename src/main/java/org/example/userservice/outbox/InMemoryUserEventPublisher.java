@@ -0,0 +1,44 @@
+package org.example.userservice.outbox;
+
+import org.example.userservice.dto.UserChangeEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default publisher: keeps the most recent {@code capacity} events in memory, dropping the
+ * oldest. A stand-in for tests and local runs, not a delivery mechanism.
+ */
+public class InMemoryUserEventPublisher implements UserEventPublisher {
+
+    private final int capacity;
+    private final ArrayDeque<UserChangeEvent> events;
+
+    public InMemoryUserEventPublisher(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public synchronized void publish(List<UserChangeEvent> batch) {
+        for (UserChangeEvent event : batch) {
+            if (events.size() == capacity) {
+                events.pollFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /** The retained events, oldest first. */
+    public synchronized List<UserChangeEvent> events() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.userservice.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(UserEventPublisher.class)
+    public InMemoryUserEventPublisher userEventPublisher(
+            @Value("${app.users.outbox.in-memory-capacity:10000}") int capacity) {
+        return new InMemoryUserEventPublisher(capacity);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.userservice.outbox;
+
+import org.example.userservice.dto.UserChangeEvent;
+import org.example.userservice.entity.OutboxEvent;
+import org.example.userservice.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains {@code user_outbox} into the {@link UserEventPublisher}. Each batch is one
+ * transaction: claim up to {@code batch-size} of the oldest rows with
+ * {@code FOR UPDATE SKIP LOCKED}, publish them, delete them with a single statement, commit.
+ * Several instances can poll the same table; each takes rows the others are not holding.
+ *
+ * <p>A poll keeps going while batches come back full, up to {@code max-batches-per-poll},
+ * so a backlog is worked off without starving the other scheduled jobs. A publisher
+ * failure rolls the batch back and ends the poll; the rows are retried on the next one.
+ */
+@Component
+@Profile("!reactive")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserEventPublisher publisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, TransactionTemplate transactionTemplate,
+                       UserEventPublisher publisher,
+                       @Value("${app.users.outbox.enabled:false}") boolean enabled,
+                       @Value("${app.users.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.users.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.users.outbox.batch-size must be positive: " + batchSize);
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.publisher = publisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+        if (enabled && publisher instanceof InMemoryUserEventPublisher) {
+            log.warn("User change events are relayed to the in-memory publisher only; "
+                    + "register a UserEventPublisher bean to deliver them");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.outbox.poll-interval:1s}",
+            initialDelayString = "${app.users.outbox.poll-interval:1s}")
+    public void poll() {
+        drain();
+    }
+
+    /**
+     * Relays pending events until a batch comes back short, a batch fails, or the per-poll
+     * limit is reached. Returns the number published; 0 if disabled or a drain is already
+     * running in this instance.
+     */
+    public int drain() {
+        if (!enabled || !draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int total = 0;
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                Integer relayed;
+                try {
+                    relayed = transactionTemplate.execute(status -> relayBatch());
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    log.warn("Relaying user outbox events failed; retrying on the next poll", e);
+                    break;
+                }
+                int count = relayed == null ? 0 : relayed;
+                if (count > 0) {
+                    batches.increment();
+                    published.add(count);
+                    total += count;
+                }
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            return total;
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    public OutboxRelayStats stats() {
+        long pending = enabled ? outboxEventRepository.count() : 0;
+        return new OutboxRelayStats(enabled, batchSize, pending, published.sum(), batches.sum(), failures.sum());
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> claimed = outboxEventRepository.claimOldest(Limit.of(batchSize));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<UserChangeEvent> events = new ArrayList<>(claimed.size());
+        List<Long> ids = new ArrayList<>(claimed.size());
+        for (OutboxEvent row : claimed) {
+            events.add(new UserChangeEvent(row.getId(), row.getType(), row.getUserId(), row.getUserVersion(),
+                    row.getPayload(), row.getCreatedAt()));
+            ids.add(row.getId());
+        }
+        publisher.publish(events);
+        outboxEventRepository.deleteAllByIdInBatch(ids);
+        return claimed.size();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.userservice.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@Endpoint(id = "outbox")
+public class OutboxRelayEndpoint {
+
+    private final OutboxRelay outboxRelay;
+
+    @Autowired
+    public OutboxRelayEndpoint(OutboxRelay outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+
+    @ReadOperation
+    public OutboxRelayStats stats() {
+        return outboxRelay.stats();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.userservice.outbox;
+
+public class OutboxRelayStats {
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pending;
+    private final long published;
+    private final long batches;
+    private final long failures;
+
+    public OutboxRelayStats(boolean enabled, int batchSize, long pending, long published, long batches,
+                            long failures) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pending = pending;
+        this.published = published;
+        this.batches = batches;
+        this.failures = failures;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+}
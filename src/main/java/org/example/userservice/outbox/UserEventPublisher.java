@@ -0,0 +1,18 @@
+package org.example.userservice.outbox;
+
+import org.example.userservice.dto.UserChangeEvent;
+
+import java.util.List;
+
+/**
+ * Delivers committed user changes to whatever consumes them (a broker, a webhook, ...).
+ * Register a bean of this type to replace the in-memory default.
+ *
+ * <p>{@link OutboxRelay} calls it with batches in event-id order while holding the claimed
+ * outbox rows, and deletes them only when it returns normally: throwing leaves the whole
+ * batch to be retried on the next poll, so a batch may be delivered more than once.
+ */
+public interface UserEventPublisher {
+
+    void publish(List<UserChangeEvent> events);
+}
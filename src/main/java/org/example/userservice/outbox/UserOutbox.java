@@ -0,0 +1,83 @@
+package org.example.userservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.userservice.dto.UserChangeType;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.entity.OutboxEvent;
+import org.example.userservice.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Records user changes in the {@code user_outbox} table. Each method joins the caller's
+ * transaction (and refuses to run without one), so an event is stored exactly when the
+ * change commits; the inserts go out in the same JDBC batch as the rest of the flush.
+ * {@link OutboxRelay} publishes them afterwards.
+ */
+@Component
+@Profile("!reactive")
+public class UserOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    @Autowired
+    public UserOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                      @Value("${app.users.outbox.enabled:false}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(UserResponse user) {
+        append(UserChangeType.CREATED, user);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Collection<UserResponse> users) {
+        for (UserResponse user : users) {
+            append(UserChangeType.CREATED, user);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(UserResponse user) {
+        append(UserChangeType.UPDATED, user);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        for (Long id : ids) {
+            outboxEventRepository.save(new OutboxEvent(id, UserChangeType.DELETED, null, null));
+        }
+    }
+
+    private void append(UserChangeType type, UserResponse user) {
+        if (!enabled) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(user);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode user " + user.getId(), e);
+        }
+        outboxEventRepository.save(new OutboxEvent(user.getId(), type, user.getVersion(), payload));
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.userservice.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.userservice.entity.OutboxEvent;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks and returns the oldest pending events, skipping rows another relay already holds
+     * ({@code FOR UPDATE SKIP LOCKED}; a lock timeout of -2 is Hibernate's skip-locked value).
+     * Dialects without SKIP LOCKED, such as H2, fall back to a plain {@code FOR UPDATE}.
+     * Must run inside the transaction that deletes what it publishes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select e from OutboxEvent e order by e.id")
+    List<OutboxEvent> claimOldest(Limit limit);
+}
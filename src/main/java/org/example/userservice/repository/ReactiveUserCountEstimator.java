@@ -0,0 +1,55 @@
+package org.example.userservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserCountEstimator}: reads the planner's row
+ * estimate for the users table instead of running COUNT(*).
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveUserCountEstimator {
+
+    private static final String POSTGRES_ESTIMATE =
+            "SELECT reltuples::bigint AS estimate FROM pg_class WHERE oid = to_regclass('users')";
+    private static final String H2_ESTIMATE =
+            "SELECT ROW_COUNT_ESTIMATE AS estimate FROM INFORMATION_SCHEMA.TABLES "
+                    + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'USERS'";
+
+    private final DatabaseClient databaseClient;
+    private final String estimateQuery;
+
+    @Autowired
+    public ReactiveUserCountEstimator(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        String product = databaseClient.getConnectionFactory().getMetadata().getName();
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            estimateQuery = POSTGRES_ESTIMATE;
+        } else if ("H2".equalsIgnoreCase(product)) {
+            estimateQuery = H2_ESTIMATE;
+        } else {
+            estimateQuery = "";
+        }
+    }
+
+    /**
+     * Emits the estimate, or completes empty when the database has none to offer.
+     */
+    public Mono<Long> estimateUserCount() {
+        if (estimateQuery.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(estimateQuery)
+                .map(row -> {
+                    Number estimate = row.get("estimate", Number.class);
+                    return estimate == null ? -1L : estimate.longValue();
+                })
+                .first()
+                .filter(estimate -> estimate >= 0)
+                .onErrorResume(e -> Mono.empty());
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.entity.UserRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<UserRecord, Long> {
+    Mono<UserRecord> findByEmail(String email);
+
+    @Query("select email from users where email in (:emails)")
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select * from users where id > :id order by id limit :limit")
+    Flux<UserRecord> findPageAfterId(long id, int limit);
+
+    @Query("select * from users order by id")
+    Flux<UserRecord> streamAllOrderedById();
+
+    @Query("select version from users where id = :id")
+    Mono<Long> findVersionById(Long id);
+
+    // Same single-statement, version-checked updates as UserRepository, returning the affected row count.
+
+    @Modifying
+    @Query("update users set name = :name, age = :age, version = version + 1 "
+            + "where id = :id and email = :email and (:version is null or version = :version)")
+    Mono<Integer> updateIfEmailUnchanged(Long id, Long version, String email, String name, Integer age);
+
+    @Modifying
+    @Query("update users set name = :name, email = :email, age = :age, version = version + 1 "
+            + "where id = :id and (:version is null or version = :version)")
+    Mono<Integer> update(Long id, Long version, String name, String email, Integer age);
+
+    @Modifying
+    @Query("update users set name = coalesce(:name, name), age = case when :ageSet then :age else age end, "
+            + "version = version + 1 "
+            + "where id = :id and email = :email and (:version is null or version = :version)")
+    Mono<Integer> patchIfEmailUnchanged(Long id, Long version, String email, String name, boolean ageSet,
+                                        Integer age);
+
+    @Modifying
+    @Query("update users set name = coalesce(:name, name), email = coalesce(:email, email), "
+            + "age = case when :ageSet then :age else age end, version = version + 1 "
+            + "where id = :id and (:version is null or version = :version)")
+    Mono<Integer> patch(Long id, Long version, String name, String email, boolean ageSet, Integer age);
+
+    @Modifying
+    @Query("delete from users where id = :id and (:version is null or version = :version)")
+    Mono<Integer> deleteUserById(Long id, Long version);
+
+    @Modifying
+    @Query("delete from users where id in (:ids)")
+    Mono<Integer> deleteUsersByIds(Collection<Long> ids);
+}
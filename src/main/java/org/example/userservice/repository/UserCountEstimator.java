@@ -0,0 +1,66 @@
+package org.example.userservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads the planner's row estimate for the users table instead of running COUNT(*),
+ * so the cost does not grow with the table.
+ */
+@Repository
+@Profile("!reactive")
+public class UserCountEstimator {
+
+    private static final String POSTGRES_ESTIMATE =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('users')";
+    private static final String H2_ESTIMATE =
+            "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES "
+                    + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'USERS'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String estimateQuery;
+
+    @Autowired
+    public UserCountEstimator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Long estimateUserCount() {
+        String query = resolveQuery();
+        if (query.isEmpty()) {
+            return null;
+        }
+        try {
+            List<Long> rows = jdbcTemplate.queryForList(query, Long.class);
+            if (rows.isEmpty() || rows.get(0) == null || rows.get(0) < 0) {
+                return null;
+            }
+            return rows.get(0);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    private String resolveQuery() {
+        String query = estimateQuery;
+        if (query == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if ("PostgreSQL".equalsIgnoreCase(product)) {
+                query = POSTGRES_ESTIMATE;
+            } else if ("H2".equalsIgnoreCase(product)) {
+                query = H2_ESTIMATE;
+            } else {
+                query = "";
+            }
+            estimateQuery = query;
+        }
+        return query;
+    }
+}
@@ -1,14 +1,105 @@
 package org.example.userservice.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.userservice.dto.UserResponse;
 import org.example.userservice.entity.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User,Long> {
+public interface UserRepository extends JpaRepository<User,Long>, UserSearchRepository {
+    // Declared query methods get no transaction from Spring Data. The lookups the service calls
+    // on their own are marked read-only so they run in a read-only transaction, which is what
+    // sends them to a replica when datasource routing is enabled.
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);
+    @Transactional(readOnly = true)
     boolean existsByEmailAndIdNot(String email,Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new org.example.userservice.dto.UserResponse(u.id, u.name, u.email, u.age, u.createdAt, u.version) "
+            + "from User u where u.id = :id")
+    Optional<UserResponse> findResponseById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new org.example.userservice.dto.UserResponse(u.id, u.name, u.email, u.age, u.createdAt, u.version) "
+            + "from User u where u.email = :email")
+    Optional<UserResponse> findResponseByEmail(String email);
+
+    @Transactional(readOnly = true)
+    @Query("select new org.example.userservice.dto.UserResponse(u.id, u.name, u.email, u.age, u.createdAt, u.version) "
+            + "from User u where u.id > :id order by u.id")
+    List<UserResponse> findResponsesAfterId(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.example.userservice.dto.UserResponse(u.id, u.name, u.email, u.age, u.createdAt, u.version) "
+            + "from User u order by u.id")
+    Stream<UserResponse> streamAllResponses();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    // Locks the rows, so a concurrent delete of the same ids waits instead of both recording events.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    // Single-statement updates returning the affected row count. Each bumps the version and, when
+    // a version is given (If-Match), only matches that version. The *IfEmailUnchanged variants
+    // leave the email column (and its unique index) alone and match nothing if the email differs.
+
+    @Modifying
+    @Query("update User u set u.name = :name, u.age = :age, u.version = u.version + 1 "
+            + "where u.id = :id and u.email = :email and (:version is null or u.version = :version)")
+    int updateIfEmailUnchanged(Long id, Long version, String email, String name, Integer age);
+
+    @Modifying
+    @Query("update User u set u.name = :name, u.email = :email, u.age = :age, u.version = u.version + 1 "
+            + "where u.id = :id and (:version is null or u.version = :version)")
+    int update(Long id, Long version, String name, String email, Integer age);
+
+    @Modifying
+    @Query("update User u set u.name = coalesce(:name, u.name), "
+            + "u.age = case when :ageSet = true then :age else u.age end, u.version = u.version + 1 "
+            + "where u.id = :id and u.email = :email and (:version is null or u.version = :version)")
+    int patchIfEmailUnchanged(Long id, Long version, String email, String name, boolean ageSet, Integer age);
+
+    @Modifying
+    @Query("update User u set u.name = coalesce(:name, u.name), u.email = coalesce(:email, u.email), "
+            + "u.age = case when :ageSet = true then :age else u.age end, u.version = u.version + 1 "
+            + "where u.id = :id and (:version is null or u.version = :version)")
+    int patch(Long id, Long version, String name, String email, boolean ageSet, Integer age);
+
+    @Modifying
+    @Transactional
+    @Query("delete from User u where u.id = :id and (:version is null or u.version = :version)")
+    int deleteUserById(Long id, Long version);
+
+    @Modifying
+    @Transactional
+    @Query("delete from User u where u.id in :ids")
+    int deleteUsersByIds(Collection<Long> ids);
 }
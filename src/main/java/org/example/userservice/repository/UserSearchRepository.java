@@ -0,0 +1,25 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+
+import java.util.List;
+
+/**
+ * Custom {@link UserRepository} fragment for filter combinations that a single derived
+ * or annotated query cannot express without defeating the indexes.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Users matching every filter that is set, in id order after {@code afterId}. Only the
+     * predicates for the filters present are emitted, so each one can use its index
+     * (idx_users_name_prefix, idx_users_age, idx_users_created_at).
+     */
+    List<UserResponse> search(UserSearchCriteria criteria, long afterId, int limit);
+
+    /** Escapes LIKE wildcards so a name prefix is matched literally, with {@code \} as escape. */
+    static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.userservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    UserSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Runs as a deferred join: the filtered, keyset-paged scan selects only ids, which the
+     * (column, id) indexes cover, and the page of rows is then fetched by primary key.
+     * Selecting every column in the scan would make the planner prefer walking the primary
+     * key in id order and filtering row by row.
+     */
+    @Override
+    public List<UserResponse> search(UserSearchCriteria criteria, long afterId, int limit) {
+        List<Long> ids = findMatchingIds(criteria, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery("select new org.example.userservice.dto.UserResponse("
+                        + "u.id, u.name, u.email, u.age, u.createdAt, u.version) "
+                        + "from User u where u.id in :ids order by u.id", UserResponse.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private List<Long> findMatchingIds(UserSearchCriteria criteria, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(user.<Long>get("id"), afterId));
+        if (criteria.hasNamePrefix()) {
+            predicates.add(cb.like(user.get("name"), UserSearchRepository.likePrefix(criteria.getName()), '\\'));
+        }
+        if (criteria.getMinAge() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.get("age"), criteria.getMinAge()));
+        }
+        if (criteria.getMaxAge() != null) {
+            predicates.add(cb.lessThanOrEqualTo(user.get("age"), criteria.getMaxAge()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.<LocalDateTime>get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(user.<LocalDateTime>get("createdAt"), criteria.getCreatedTo()));
+        }
+
+        query.select(user.get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
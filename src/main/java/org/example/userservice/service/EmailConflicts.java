@@ -0,0 +1,38 @@
+package org.example.userservice.service;
+
+import io.r2dbc.spi.R2dbcException;
+import org.example.userservice.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Recognises violations of the users.email unique constraint so callers can
+ * rely on the database instead of probing with existsByEmail first.
+ */
+final class EmailConflicts {
+
+    private EmailConflicts() {
+    }
+
+    static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return mentionsEmailConstraint(violation.getConstraintName());
+            }
+            // Batched statements (e.g. H2's JdbcBatchUpdateException) do not always expose the
+            // constraint name to Hibernate, and R2DBC drivers never do, but the driver message carries it.
+            if ((cause instanceof SQLException || cause instanceof R2dbcException)
+                    && mentionsEmailConstraint(cause.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentionsEmailConstraint(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+}
@@ -0,0 +1,293 @@
+package org.example.userservice.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.BulkDeleteResponse;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserPatchRequest;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.entity.UserRecord;
+import org.example.userservice.exception.BatchSizeExceededException;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.PreconditionFailedException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.repository.ReactiveUserCountEstimator;
+import org.example.userservice.repository.ReactiveUserRepository;
+import org.example.userservice.repository.UserSearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link UserService} for the reactive profile. It keeps
+ * the same limits, cursor format and error semantics; the lookup cache and email
+ * filter are specific to the blocking stack and are not used here.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveUserCountEstimator userCountEstimator;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final Validator validator;
+
+    @Autowired
+    public ReactiveUserService(ReactiveUserRepository userRepository, ReactiveUserCountEstimator userCountEstimator,
+                               R2dbcEntityTemplate entityTemplate, Validator validator) {
+        this.userRepository = userRepository;
+        this.userCountEstimator = userCountEstimator;
+        this.entityTemplate = entityTemplate;
+        this.validator = validator;
+    }
+
+    public Mono<UserResponse> createUser(UserRequest userRequest) {
+        UserRecord user = new UserRecord(userRequest.getName(), userRequest.getEmail(), userRequest.getAge());
+        return userRepository.save(user)
+                .map(this::convertToResponse)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> translateEmailConflict(e, userRequest.getEmail()));
+    }
+
+    @Transactional
+    public Mono<BatchCreateResponse> createUsers(List<UserRequest> userRequests) {
+        if (userRequests.size() > UserService.MAX_BATCH_SIZE) {
+            return Mono.error(new BatchSizeExceededException(userRequests.size(), UserService.MAX_BATCH_SIZE));
+        }
+
+        BatchItemResult[] results = new BatchItemResult[userRequests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> emailsInBatch = new HashSet<>();
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            String violations = describeViolations(request);
+            if (violations != null) {
+                results[i] = BatchItemResult.invalid(i, violations);
+            } else if (!emailsInBatch.add(request.getEmail())) {
+                results[i] = BatchItemResult.conflict(i, "Duplicate email in batch: " + request.getEmail());
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        return Flux.fromIterable(emailsInBatch)
+                .buffer(UserService.EMAIL_LOOKUP_CHUNK_SIZE)
+                .concatMap(userRepository::findExistingEmails)
+                .collect(Collectors.toSet())
+                .flatMapMany(existingEmails -> Flux.fromIterable(candidates)
+                        .concatMap(index -> {
+                            UserRequest request = userRequests.get(index);
+                            if (existingEmails.contains(request.getEmail())) {
+                                results[index] = BatchItemResult.conflict(index,
+                                        "Email already exists: " + request.getEmail());
+                                return Mono.empty();
+                            }
+                            // Another writer may take one of these emails after the set-based check.
+                            return userRepository.save(
+                                            new UserRecord(request.getName(), request.getEmail(), request.getAge()))
+                                    .onErrorMap(DataIntegrityViolationException.class,
+                                            e -> translateEmailConflict(e, request.getEmail()))
+                                    .doOnNext(saved -> results[index] =
+                                            BatchItemResult.created(index, convertToResponse(saved)));
+                        }))
+                .then(Mono.fromSupplier(() -> new BatchCreateResponse(List.of(results))));
+    }
+
+    public Mono<UserResponse> getUserById(Long id) {
+        return userRepository.findById(id)
+                .map(this::convertToResponse)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)));
+    }
+
+    public Mono<Long> getUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)));
+    }
+
+    public Mono<UserPageResponse> getAllUsers(Integer limit, String after, boolean includeTotal) {
+        int pageSize = UserService.pageSize(limit);
+        return Mono.fromSupplier(() -> PageCursor.decode(after))
+                .flatMap(lastSeenId -> userRepository.findPageAfterId(lastSeenId, pageSize + 1)
+                        .map(this::convertToResponse)
+                        .collectList())
+                .zipWith(includeTotal ? userCountEstimator.estimateUserCount().defaultIfEmpty(-1L) : Mono.just(-1L))
+                .map(tuple -> UserService.toPage(tuple.getT1(), pageSize, tuple.getT2() < 0 ? null : tuple.getT2()));
+    }
+
+    /**
+     * Same filters and deferred join as {@link UserService#searchUsers}: an id-only,
+     * index-covered scan picks the page, then the rows are loaded by primary key.
+     */
+    public Mono<UserPageResponse> searchUsers(UserSearchCriteria criteria, Integer limit, String after) {
+        int pageSize = UserService.pageSize(limit);
+        return Mono.fromSupplier(() -> PageCursor.decode(after))
+                .flatMap(lastSeenId -> entityTemplate.select(UserRecord.class)
+                        .matching(Query.query(searchCriteria(criteria, lastSeenId))
+                                .columns("id")
+                                .sort(Sort.by("id"))
+                                .limit(pageSize + 1))
+                        .all()
+                        .map(UserRecord::getId)
+                        .collectList())
+                .flatMap(ids -> ids.isEmpty() ? Mono.just(List.<UserResponse>of()) : userRepository.findAllById(ids)
+                        .map(this::convertToResponse)
+                        .sort(Comparator.comparing(UserResponse::getId))
+                        .collectList())
+                .map(rows -> UserService.toPage(rows, pageSize, null));
+    }
+
+    /**
+     * Streams every user in id order. Rows are pulled from the driver only as fast as
+     * the subscriber (ultimately the HTTP connection) requests them.
+     */
+    public Flux<UserResponse> exportUsers() {
+        return userRepository.streamAllOrderedById().map(this::convertToResponse);
+    }
+
+    @Transactional
+    public Mono<UserResponse> updateUser(Long id, UserRequest userRequest) {
+        return updateUser(id, userRequest, null);
+    }
+
+    @Transactional
+    public Mono<UserResponse> updateUser(Long id, UserRequest userRequest, Long expectedVersion) {
+        return applyUpdate(id, userRequest.getEmail(),
+                () -> userRepository.updateIfEmailUnchanged(id, expectedVersion, userRequest.getEmail(),
+                        userRequest.getName(), userRequest.getAge()),
+                () -> userRepository.update(id, expectedVersion, userRequest.getName(), userRequest.getEmail(),
+                        userRequest.getAge()));
+    }
+
+    @Transactional
+    public Mono<UserResponse> patchUser(Long id, UserPatchRequest patch) {
+        return patchUser(id, patch, null);
+    }
+
+    @Transactional
+    public Mono<UserResponse> patchUser(Long id, UserPatchRequest patch, Long expectedVersion) {
+        if (patch.getEmail() == null) {
+            return userRepository.patch(id, expectedVersion, patch.getName(), null, patch.isAgeSet(), patch.getAge())
+                    .flatMap(updated -> updated == 0 ? missingOrModified(id) : getUserById(id));
+        }
+        return applyUpdate(id, patch.getEmail(),
+                () -> userRepository.patchIfEmailUnchanged(id, expectedVersion, patch.getEmail(),
+                        patch.getName(), patch.isAgeSet(), patch.getAge()),
+                () -> userRepository.patch(id, expectedVersion, patch.getName(), patch.getEmail(), patch.isAgeSet(), patch.getAge()));
+    }
+
+    public Mono<Void> deleteUser(Long id) {
+        return deleteUser(id, null);
+    }
+
+    public Mono<Void> deleteUser(Long id, Long expectedVersion) {
+        return userRepository.deleteUserById(id, expectedVersion)
+                .flatMap(deleted -> deleted == 0 ? missingOrModified(id) : Mono.empty());
+    }
+
+    public Mono<BulkDeleteResponse> deleteUsers(List<Long> ids) {
+        if (ids.size() > UserService.MAX_BULK_DELETE_SIZE) {
+            return Mono.error(new BatchSizeExceededException(ids.size(), UserService.MAX_BULK_DELETE_SIZE));
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        return Flux.fromIterable(distinctIds)
+                .buffer(UserService.DELETE_CHUNK_SIZE)
+                .concatMap(userRepository::deleteUsersByIds)
+                .reduce(0, Integer::sum)
+                .map(deleted -> new BulkDeleteResponse(distinctIds.size(), deleted));
+    }
+
+    public Mono<UserResponse> getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .map(this::convertToResponse)
+                .switchIfEmpty(Mono.error(() -> UserNotFoundException.byEmail(email)));
+    }
+
+    private Mono<UserResponse> applyUpdate(Long id, String email, Supplier<Mono<Integer>> keepingEmail,
+                                           Supplier<Mono<Integer>> changingEmail) {
+        return keepingEmail.get()
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : changingEmail.get()
+                        .onErrorMap(DataIntegrityViolationException.class, e -> translateEmailConflict(e, email)))
+                .flatMap(updated -> updated == 0 ? missingOrModified(id) : getUserById(id));
+    }
+
+    private <T> Mono<T> missingOrModified(Long id) {
+        return userRepository.findVersionById(id)
+                .flatMap(version -> Mono.<T>error(new PreconditionFailedException(id, version)))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(id)));
+    }
+
+    private static Criteria searchCriteria(UserSearchCriteria criteria, long lastSeenId) {
+        Criteria where = Criteria.where("id").greaterThan(lastSeenId);
+        if (criteria.hasNamePrefix()) {
+            // Backslash is the default LIKE escape character in both PostgreSQL and H2.
+            where = where.and("name").like(UserSearchRepository.likePrefix(criteria.getName()));
+        }
+        if (criteria.getMinAge() != null) {
+            where = where.and("age").greaterThanOrEquals(criteria.getMinAge());
+        }
+        if (criteria.getMaxAge() != null) {
+            where = where.and("age").lessThanOrEquals(criteria.getMaxAge());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            where = where.and("createdAt").greaterThanOrEquals(criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            where = where.and("createdAt").lessThan(criteria.getCreatedTo());
+        }
+        return where;
+    }
+
+    private String describeViolations(UserRequest request) {
+        if (request == null) {
+            return "Request item cannot be null";
+        }
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private Throwable translateEmailConflict(DataIntegrityViolationException e, String email) {
+        if (EmailConflicts.isEmailConflict(e)) {
+            return new EmailAlreadyExistsException(email);
+        }
+        return e;
+    }
+
+    UserResponse convertToResponse(UserRecord user) {
+        return new UserResponse(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getAge(),
+                user.getCreatedAt(),
+                user.getVersion()
+        );
+    }
+}
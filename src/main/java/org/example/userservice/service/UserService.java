@@ -1,91 +1,492 @@
 package org.example.userservice.service;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.userservice.cache.UserCache;
+import org.example.userservice.cache.UserJsonCache;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.BulkDeleteResponse;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserPatchRequest;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.dto.UserSuggestion;
 import org.example.userservice.entity.User;
+import org.example.userservice.exception.BatchSizeExceededException;
 import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.PreconditionFailedException;
 import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.index.EmailFilter;
+import org.example.userservice.index.UserSuggestIndex;
+import org.example.userservice.outbox.UserOutbox;
+import org.example.userservice.repository.UserCountEstimator;
 import org.example.userservice.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 public class UserService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 5_000;
+    // Matches hibernate.jdbc.batch_size and the users_seq allocation size.
+    static final int JDBC_BATCH_SIZE = 50;
+    static final int MAX_BULK_DELETE_SIZE = 100_000;
+    static final int DELETE_CHUNK_SIZE = 1_000;
+    static final int EMAIL_LOOKUP_CHUNK_SIZE = 1_000;
+    static final int DEFAULT_SUGGEST_LIMIT = 10;
+    static final int MAX_SUGGEST_LIMIT = 50;
+
     private final UserRepository userRepository;
+    private final UserCountEstimator userCountEstimator;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final UserCache userCache;
+    private final EmailFilter emailFilter;
+    private final UserSuggestIndex suggestIndex;
+    private final UserJsonCache userJsonCache;
+    private final UserOutbox userOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserCountEstimator userCountEstimator,
+                       EntityManager entityManager, Validator validator, UserCache userCache,
+                       EmailFilter emailFilter, UserSuggestIndex suggestIndex, UserJsonCache userJsonCache,
+                       UserOutbox userOutbox, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
+        this.userCountEstimator = userCountEstimator;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.userCache = userCache;
+        this.emailFilter = emailFilter;
+        this.suggestIndex = suggestIndex;
+        this.userJsonCache = userJsonCache;
+        this.userOutbox = userOutbox;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    // Transactional so the outbox event commits with the insert.
+    @Transactional
     public UserResponse createUser(UserRequest userRequest) {
-        if (userRepository.existsByEmail(userRequest.getEmail())) {
-            throw new EmailAlreadyExistsException(userRequest.getEmail());
-        }
-
         User user = new User(userRequest.getName(), userRequest.getEmail(), userRequest.getAge());
-        User savedUser = userRepository.save(user);
+        // Register the email before the insert becomes visible; a rolled-back insert only
+        // costs an extra false positive.
+        emailFilter.add(userRequest.getEmail());
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, userRequest.getEmail());
+        }
 
-        return convertToResponse(savedUser);
+        UserResponse response = convertToResponse(savedUser);
+        userOutbox.created(response);
+        TransactionCallbacks.afterCommit(() -> {
+            userCache.put(response);
+            suggestIndex.put(response);
+        });
+        return response;
     }
 
     @Transactional
+    public BatchCreateResponse createUsers(List<UserRequest> userRequests) {
+        if (userRequests.size() > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException(userRequests.size(), MAX_BATCH_SIZE);
+        }
+
+        BatchItemResult[] results = new BatchItemResult[userRequests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> emailsInBatch = new HashSet<>();
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            String violations = describeViolations(request);
+            if (violations != null) {
+                results[i] = BatchItemResult.invalid(i, violations);
+            } else if (!emailsInBatch.add(request.getEmail())) {
+                results[i] = BatchItemResult.conflict(i, "Duplicate email in batch: " + request.getEmail());
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existingEmails = findExistingEmails(emailsInBatch);
+        List<User> pending = new ArrayList<>(JDBC_BATCH_SIZE);
+        List<UserResponse> created = new ArrayList<>(candidates.size());
+        for (int index : candidates) {
+            UserRequest request = userRequests.get(index);
+            if (existingEmails.contains(request.getEmail())) {
+                results[index] = BatchItemResult.conflict(index, "Email already exists: " + request.getEmail());
+                continue;
+            }
+            User user = new User(request.getName(), request.getEmail(), request.getAge());
+            userRepository.save(user);
+            UserResponse response = convertToResponse(user);
+            results[index] = BatchItemResult.created(index, response);
+            created.add(response);
+            userOutbox.created(response);
+            emailFilter.add(user.getEmail());
+            pending.add(user);
+            if (pending.size() == JDBC_BATCH_SIZE) {
+                flushAndClear(pending);
+            }
+        }
+        flushAndClear(pending);
+        TransactionCallbacks.afterCommit(() -> created.forEach(suggestIndex::put));
+
+        return new BatchCreateResponse(List.of(results));
+    }
+
+    // No service-level transaction on lookups: a cache hit should not borrow a connection. The
+    // projection query's read-only transaction comes from the @Transactional on the repository
+    // method; Spring Data gives declared queries none of their own.
     public UserResponse getUserById(Long id) {
-        User user = userRepository.findById(id)
+        Optional<UserResponse> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long stamp = userCache.readStamp();
+        UserResponse response = userRepository.findResponseById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
-        return convertToResponse(user);
+        TransactionCallbacks.afterCommit(() -> userCache.putLoaded(response, stamp));
+        return response;
     }
 
-    @Transactional
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Current version of a user, for answering conditional GETs. A cached user answers it
+     * without touching the database; otherwise only the version column is read.
+     */
+    public long getUserVersion(Long id) {
+        Optional<UserResponse> cached = userCache.getById(id);
+        if (cached.isPresent() && cached.get().getVersion() != null) {
+            return cached.get().getVersion();
+        }
+        return userRepository.findVersionById(id).orElseThrow(() -> new UserNotFoundException(id));
     }
 
-    public UserResponse updateUser(Long id, UserRequest userRequest) {
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
+    @Transactional(readOnly = true)
+    public UserPageResponse getAllUsers(Integer limit, String after, boolean includeTotal) {
+        int pageSize = pageSize(limit);
+        long lastSeenId = PageCursor.decode(after);
+
+        List<UserResponse> rows = userRepository.findResponsesAfterId(lastSeenId, Limit.of(pageSize + 1));
+        Long approximateTotal = includeTotal ? userCountEstimator.estimateUserCount() : null;
+        return toPage(rows, pageSize, approximateTotal);
+    }
 
-        if (userRepository.existsByEmailAndIdNot(userRequest.getEmail(), id)) {
-            throw new EmailAlreadyExistsException(userRequest.getEmail());
+    /**
+     * Filters by name prefix, age range and creation time, keyset-paged by id like
+     * {@link #getAllUsers}, so a deep page costs the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public UserPageResponse searchUsers(UserSearchCriteria criteria, Integer limit, String after) {
+        int pageSize = pageSize(limit);
+        long lastSeenId = PageCursor.decode(after);
+
+        List<UserResponse> rows = userRepository.search(criteria, lastSeenId, pageSize + 1);
+        return toPage(rows, pageSize, null);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<UserResponse> sink) {
+        // DTO rows are never attached to the persistence context, so nothing accumulates.
+        try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+            users.forEach(sink);
         }
+    }
 
-        existingUser.setName(userRequest.getName());
-        existingUser.setEmail(userRequest.getEmail());
-        existingUser.setAge(userRequest.getAge());
+    @Transactional
+    public UserResponse updateUser(Long id, UserRequest userRequest) {
+        return updateUser(id, userRequest, null);
+    }
 
-        User updateUser = userRepository.save(existingUser);
-        return convertToResponse(updateUser);
+    /**
+     * Replaces a user. A non-null {@code expectedVersion} makes the UPDATE conditional on
+     * that version, so a concurrent writer fails with a precondition error instead of
+     * being silently overwritten; no row lock is held between read and write.
+     */
+    @Transactional
+    public UserResponse updateUser(Long id, UserRequest userRequest, Long expectedVersion) {
+        return applyUpdate(id, userRequest.getEmail(),
+                () -> userRepository.updateIfEmailUnchanged(id, expectedVersion, userRequest.getEmail(),
+                        userRequest.getName(), userRequest.getAge()),
+                () -> userRepository.update(id, expectedVersion, userRequest.getName(), userRequest.getEmail(),
+                        userRequest.getAge()));
     }
 
-    public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException(id);
+    @Transactional
+    public UserResponse patchUser(Long id, UserPatchRequest patch) {
+        return patchUser(id, patch, null);
+    }
+
+    @Transactional
+    public UserResponse patchUser(Long id, UserPatchRequest patch, Long expectedVersion) {
+        if (patch.getEmail() == null) {
+            if (userRepository.patch(id, expectedVersion, patch.getName(), null, patch.isAgeSet(), patch.getAge()) == 0) {
+                throw missingOrModified(id);
+            }
+            return reloadUpdated(id, false);
         }
-        userRepository.deleteById(id);
+        return applyUpdate(id, patch.getEmail(),
+                () -> userRepository.patchIfEmailUnchanged(id, expectedVersion, patch.getEmail(),
+                        patch.getName(), patch.isAgeSet(), patch.getAge()),
+                () -> userRepository.patch(id, expectedVersion, patch.getName(), patch.getEmail(), patch.isAgeSet(), patch.getAge()));
     }
 
     @Transactional
+    public void deleteUser(Long id) {
+        deleteUser(id, null);
+    }
+
+    @Transactional
+    public void deleteUser(Long id, Long expectedVersion) {
+        if (userRepository.deleteUserById(id, expectedVersion) == 0) {
+            throw missingOrModified(id);
+        }
+        userOutbox.deleted(List.of(id));
+        TransactionCallbacks.afterCommit(() -> {
+            userCache.evict(id);
+            userJsonCache.evict(id);
+            suggestIndex.remove(id);
+            emailFilter.markStale(1);
+        });
+    }
+
+    /**
+     * Deletes in chunks of {@value #DELETE_CHUNK_SIZE} ids, each its own statement and
+     * transaction, so a large cleanup never holds locks on every row at once. Unknown ids
+     * are ignored; a failure part-way leaves earlier chunks deleted, and retrying is safe.
+     * With the outbox on, each chunk first reads which of its ids exist so only those get
+     * a delete event.
+     */
+    public BulkDeleteResponse deleteUsers(List<Long> ids) {
+        if (ids.size() > MAX_BULK_DELETE_SIZE) {
+            throw new BatchSizeExceededException(ids.size(), MAX_BULK_DELETE_SIZE);
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+
+        int deleted = 0;
+        List<Long> chunk = new ArrayList<>(DELETE_CHUNK_SIZE);
+        for (Long id : distinctIds) {
+            chunk.add(id);
+            if (chunk.size() == DELETE_CHUNK_SIZE) {
+                deleted += deleteChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deleted += deleteChunk(chunk);
+        }
+        return new BulkDeleteResponse(distinctIds.size(), deleted);
+    }
+
+    /** Type-ahead over names and emails, answered from the in-memory index only. */
+    public List<UserSuggestion> suggestUsers(String query, Integer limit) {
+        int size = limit == null ? DEFAULT_SUGGEST_LIMIT : Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT));
+        return suggestIndex.suggest(query, size);
+    }
+
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-        return convertToResponse(user);
+        Optional<UserResponse> cached = userCache.getByEmail(email);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        // Not short-circuited by the email filter: it misses rows written elsewhere, and
+        // a read has no constraint behind it to catch that.
+        long stamp = userCache.readStamp();
+        UserResponse response = userRepository.findResponseByEmail(email)
+                .orElseThrow(() -> UserNotFoundException.byEmail(email));
+        TransactionCallbacks.afterCommit(() -> userCache.putLoaded(response, stamp));
+        return response;
+    }
+
+    /**
+     * Tries the update that keeps the stored email first, so the common case is one
+     * UPDATE that never touches the email unique index. Only when that matches no row
+     * (unknown id, or the email really changes) is the email-changing UPDATE issued.
+     */
+    private UserResponse applyUpdate(Long id, String email, IntSupplier keepingEmail, IntSupplier changingEmail) {
+        if (keepingEmail.getAsInt() > 0) {
+            return reloadUpdated(id, false);
+        }
+        emailFilter.add(email);
+        int updated;
+        try {
+            updated = changingEmail.getAsInt();
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, email);
+        }
+        if (updated == 0) {
+            throw missingOrModified(id);
+        }
+        return reloadUpdated(id, true);
+    }
+
+    /** Explains a conditional write that matched no row: the user is gone, or its version moved on. */
+    private RuntimeException missingOrModified(Long id) {
+        return userRepository.findVersionById(id)
+                .<RuntimeException>map(version -> new PreconditionFailedException(id, version))
+                .orElseGet(() -> new UserNotFoundException(id));
+    }
+
+    private UserResponse reloadUpdated(Long id, boolean emailChanged) {
+        UserResponse response = userRepository.findResponseById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+        userOutbox.updated(response);
+        TransactionCallbacks.afterCommit(() -> {
+            userCache.evict(id);
+            userJsonCache.evict(id);
+            suggestIndex.put(response);
+            if (emailChanged) {
+                emailFilter.markStale(1);
+            }
+        });
+        return response;
+    }
+
+    static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /** Trims the one-row lookahead and derives the next cursor from the last row kept. */
+    static UserPageResponse toPage(List<UserResponse> rows, int pageSize, Long approximateTotal) {
+        boolean hasMore = rows.size() > pageSize;
+        List<UserResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? PageCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return new UserPageResponse(items, nextCursor, approximateTotal);
+    }
+
+    private String describeViolations(UserRequest request) {
+        if (request == null) {
+            return "Request item cannot be null";
+        }
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Probes every email, so the per-item conflict holds for rows this instance's filter has
+     * not seen (written by another instance, for example). The filter's answers are only
+     * checked against the result, which shows how far it has drifted.
+     */
+    private Set<String> findExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>();
+        Set<String> filterMisses = new HashSet<>();
+        List<String> chunk = new ArrayList<>(EMAIL_LOOKUP_CHUNK_SIZE);
+        for (String email : emails) {
+            if (!emailFilter.mightContain(email)) {
+                filterMisses.add(email);
+            }
+            chunk.add(email);
+            if (chunk.size() == EMAIL_LOOKUP_CHUNK_SIZE) {
+                existing.addAll(userRepository.findExistingEmails(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existing.addAll(userRepository.findExistingEmails(chunk));
+        }
+        long wrongMisses = 0;
+        for (String email : existing) {
+            if (filterMisses.contains(email)) {
+                wrongMisses++;
+                emailFilter.add(email);
+            }
+        }
+        long filterHits = emails.size() - filterMisses.size();
+        long falsePositives = filterHits - (existing.size() - wrongMisses);
+        if (falsePositives > 0) {
+            emailFilter.recordFalsePositives(falsePositives);
+        }
+        if (wrongMisses > 0) {
+            emailFilter.recordWrongMisses(wrongMisses);
+        }
+        return existing;
+    }
+
+    private int deleteChunk(List<Long> chunk) {
+        int deleted = userOutbox.isEnabled()
+                ? deleteChunkRecordingEvents(chunk)
+                : userRepository.deleteUsersByIds(chunk);
+        for (Long id : chunk) {
+            userCache.evict(id);
+            userJsonCache.evict(id);
+            suggestIndex.remove(id);
+        }
+        emailFilter.markStale(deleted);
+        return deleted;
+    }
+
+    private int deleteChunkRecordingEvents(List<Long> chunk) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> existing = userRepository.findExistingIds(chunk);
+            if (existing.isEmpty()) {
+                return 0;
+            }
+            userOutbox.deleted(existing);
+            return userRepository.deleteUsersByIds(existing);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void flushAndClear(List<User> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Another writer took one of these emails after the set-based check.
+            String email = pending.size() == 1 ? pending.get(0).getEmail() : "one of the batch emails";
+            throw translateEmailConflict(e, email);
+        }
+        entityManager.clear();
+        pending.clear();
+    }
+
+    private RuntimeException translateEmailConflict(DataIntegrityViolationException e, String email) {
+        if (EmailConflicts.isEmailConflict(e)) {
+            return new EmailAlreadyExistsException(email);
+        }
+        return e;
     }
 
-    private UserResponse convertToResponse(User user) {
+    UserResponse convertToResponse(User user) {
         return new UserResponse(
                 user.getId(),
                 user.getName(),
                 user.getEmail(),
                 user.getAge(),
-                user.getCreatedAt()
+                user.getCreatedAt(),
+                user.getVersion()
         );
     }
 
@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       DEFAULT NEXT VALUE FOR users_seq NOT NULL PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    age        INTEGER,
+    created_at TIMESTAMP(6) NOT NULL,
+    version    BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix ON users (name, id);
+CREATE INDEX IF NOT EXISTS idx_users_age ON users (age, id);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at, id);
+
+CREATE SEQUENCE IF NOT EXISTS user_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    user_id      BIGINT        NOT NULL,
+    event_type   VARCHAR(16)   NOT NULL,
+    user_version BIGINT,
+    payload      VARCHAR(2048),
+    created_at   TIMESTAMP(6)  NOT NULL
+);
@@ -0,0 +1,65 @@
+-- Applied by both stacks on start, before Hibernate's schema update. Hibernate reserves ids in
+-- blocks of 50 per sequence value, so a plain nextval() default never hands out an id inside one
+-- of its blocks.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    age        INTEGER,
+    created_at TIMESTAMP(6) NOT NULL,
+    version    BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Databases from before users_seq existed took ids from an IDENTITY column, which refuses a
+-- default; the sequence they get starts at 1, so it is moved past the highest id on every
+-- start (never backwards).
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Earlier versions let Hibernate name the email unique constraint (UK...). Violations are
+-- recognised by the name uk_users_email, so any other unique constraint on email is renamed
+-- to it, or dropped if it already exists. The body is quoted with '' so the script splitter
+-- keeps it in one statement.
+DO '
+DECLARE
+    legacy name;
+BEGIN
+    FOR legacy IN
+        SELECT c.conname FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attname = ''email''
+        WHERE c.conrelid = ''users''::regclass AND c.contype = ''u''
+          AND c.conkey = ARRAY[a.attnum] AND c.conname <> ''uk_users_email''
+    LOOP
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = ''users''::regclass AND conname = ''uk_users_email'') THEN
+            EXECUTE format(''ALTER TABLE users DROP CONSTRAINT %I'', legacy);
+        ELSE
+            EXECUTE format(''ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_email'', legacy);
+        END IF;
+    END LOOP;
+END';
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq)));
+
+-- Under any collation but C a plain btree cannot serve name LIKE 'abc%'; the pattern operator
+-- class compares bytes and can. It replaces the plain idx_users_name of earlier versions.
+DROP INDEX IF EXISTS idx_users_name;
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix ON users (name varchar_pattern_ops, id);
+CREATE INDEX IF NOT EXISTS idx_users_age ON users (age, id);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at, id);
+
+-- Written by the JPA stack's UserOutbox, drained by OutboxRelay; the reactive stack does not write it.
+CREATE SEQUENCE IF NOT EXISTS user_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    user_id      BIGINT        NOT NULL,
+    event_type   VARCHAR(16)   NOT NULL,
+    user_version BIGINT,
+    payload      VARCHAR(2048),
+    created_at   TIMESTAMP(6)  NOT NULL
+);
@@ -1,7 +1,12 @@
 package org.example.userservice;
 
+import org.example.userservice.exception.DomainException;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.context.ActiveProfiles;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,6 +19,18 @@ class UserServiceApplicationTest {
         assertTrue(true, "Context should load successfully");
     }
 
+    @Test
+    void testErrorSettingsApplyStackTraceSwitch() {
+        MockEnvironment environment = new MockEnvironment().withProperty("app.errors.stack-traces", "true");
+        try {
+            UserServiceApplication.errorSettings().onApplicationEvent(new ApplicationEnvironmentPreparedEvent(
+                    new DefaultBootstrapContext(), new SpringApplication(), new String[0], environment));
+            assertTrue(DomainException.isCapturingStackTraces());
+        } finally {
+            DomainException.captureStackTraces(false);
+        }
+    }
+
     @Test
     void testMainMethod() {
         assertDoesNotThrow(() -> UserServiceApplication.main(new String[]{}));
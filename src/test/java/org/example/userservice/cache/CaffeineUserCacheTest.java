@@ -0,0 +1,185 @@
+package org.example.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.userservice.dto.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineUserCacheTest {
+
+    private CaffeineUserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new CaffeineUserCache(100, 0, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testLookupByIdAndEmail() {
+        userCache.put(user(1L, "john@example.com"));
+
+        assertEquals("john@example.com", userCache.getById(1L).orElseThrow().getEmail());
+        assertEquals(1L, userCache.getByEmail("john@example.com").orElseThrow().getId());
+        assertTrue(userCache.getById(2L).isEmpty());
+        assertTrue(userCache.getByEmail("jane@example.com").isEmpty());
+    }
+
+    @Test
+    void testEvictRemovesEmailIndexEntry() {
+        userCache.put(user(1L, "john@example.com"));
+
+        userCache.evict(1L);
+
+        assertTrue(userCache.getById(1L).isEmpty());
+        assertTrue(userCache.getByEmail("john@example.com").isEmpty());
+    }
+
+    @Test
+    void testReplacingEntryWithNewEmailDropsOldEmail() {
+        userCache.put(user(1L, "old@example.com"));
+        userCache.put(user(1L, "new@example.com"));
+
+        assertTrue(userCache.getByEmail("old@example.com").isEmpty());
+        assertEquals(1L, userCache.getByEmail("new@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void testEmailReusedByAnotherUserIsNotServedFromStaleEntry() {
+        userCache.put(user(1L, "shared@example.com"));
+        userCache.put(user(2L, "shared@example.com"));
+        userCache.evict(2L);
+
+        assertTrue(userCache.getByEmail("shared@example.com").isEmpty());
+    }
+
+    @Test
+    void testSizeBoundEvictsEntries() {
+        CaffeineUserCache bounded = new CaffeineUserCache(10, 0, Duration.ofMinutes(5));
+        for (long id = 1; id <= 100; id++) {
+            bounded.put(user(id, "user" + id + "@example.com"));
+        }
+
+        UserCacheStats stats = bounded.stats();
+
+        assertTrue(stats.getSize() <= 10);
+        assertTrue(stats.getEvictionCount() >= 90);
+    }
+
+    @Test
+    void testByteBoundEvictsEntries() {
+        int entryBytes = CaffeineUserCache.estimateBytes(user(1L, "user1@example.com"));
+        CaffeineUserCache bounded = new CaffeineUserCache(0, entryBytes * 5L, Duration.ofMinutes(5));
+        for (long id = 1; id <= 50; id++) {
+            bounded.put(user(id, "user" + id + "@example.com"));
+        }
+
+        UserCacheStats stats = bounded.stats();
+
+        assertTrue(stats.getSize() <= 6);
+        assertTrue(stats.getEstimatedBytes() <= entryBytes * 6L);
+    }
+
+    @Test
+    void testStatsCountHitsAndMisses() {
+        userCache.put(user(1L, "john@example.com"));
+
+        userCache.getById(1L);
+        userCache.getByEmail("john@example.com");
+        userCache.getById(2L);
+
+        UserCacheStats stats = userCache.stats();
+
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testFillLoadedBeforeEvictIsDropped() {
+        FakeTicker ticker = new FakeTicker();
+        CaffeineUserCache cache = new CaffeineUserCache(100, 0, Duration.ofMinutes(5), () -> true, ticker);
+        long stamp = cache.readStamp();
+        ticker.advance(1);
+        // A writer commits and evicts while the reader is still holding the old row.
+        cache.evict(1L);
+        ticker.advance(1);
+
+        cache.putLoaded(user(1L, "john@example.com", 3L), stamp);
+
+        assertTrue(cache.getById(1L).isEmpty());
+        assertTrue(cache.getByEmail("john@example.com").isEmpty());
+
+        cache.putLoaded(user(1L, "john@example.com", 4L), cache.readStamp());
+        assertEquals(4L, cache.getById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testFillAfterClearIsDroppedAndSlowFillsExpire() {
+        FakeTicker ticker = new FakeTicker();
+        CaffeineUserCache cache = new CaffeineUserCache(100, 0, Duration.ofMinutes(5), () -> true, ticker);
+        long stamp = cache.readStamp();
+        cache.clear();
+        ticker.advance(1);
+        cache.putLoaded(user(1L, "john@example.com", 1L), stamp);
+        assertTrue(cache.getById(1L).isEmpty());
+
+        long slow = cache.readStamp();
+        ticker.advance(Duration.ofSeconds(CaffeineUserCache.MAX_LOAD_SECONDS + 1).toNanos());
+        cache.putLoaded(user(1L, "john@example.com", 1L), slow);
+        assertTrue(cache.getById(1L).isEmpty());
+    }
+
+    @Test
+    void testFillsCanBeRefused() {
+        CaffeineUserCache replicaReads = new CaffeineUserCache(100, 0, Duration.ofMinutes(5), () -> false);
+
+        replicaReads.putLoaded(user(1L, "john@example.com", 1L), replicaReads.readStamp());
+        assertTrue(replicaReads.getById(1L).isEmpty());
+
+        // Writes still go in: they carry what was just committed on the primary.
+        replicaReads.put(user(1L, "john@example.com", 2L));
+        assertEquals(2L, replicaReads.getById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testLowerVersionNeverReplacesHigher() {
+        userCache.put(user(1L, "new@example.com", 5L));
+
+        userCache.putLoaded(user(1L, "old@example.com", 4L), userCache.readStamp());
+        userCache.put(user(1L, "old@example.com", 4L));
+
+        assertEquals(5L, userCache.getById(1L).orElseThrow().getVersion());
+        assertEquals(1L, userCache.getByEmail("new@example.com").orElseThrow().getId());
+        assertTrue(userCache.getByEmail("old@example.com").isEmpty());
+
+        userCache.putLoaded(user(1L, "newer@example.com", 6L), userCache.readStamp());
+        assertEquals(6L, userCache.getById(1L).orElseThrow().getVersion());
+    }
+
+    private static UserResponse user(Long id, String email, Long version) {
+        return new UserResponse(id, "User " + id, email, 30, LocalDateTime.now(), version);
+    }
+
+    private static final class FakeTicker implements Ticker {
+        private long nanos = 1_000_000_000L;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long delta) {
+            nanos += delta;
+        }
+    }
+
+    private static UserResponse user(Long id, String email) {
+        return new UserResponse(id, "User " + id, email, 30, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.userservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserJsonCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final UserJsonCache userJsonCache = new UserJsonCache(objectMapper, true, 1 << 20);
+
+    @Test
+    void testEncodesLikeObjectMapperAndReusesBytesPerVersion() throws IOException {
+        UserResponse user = user(1L, "John Doe", 0L);
+
+        byte[] first = userJsonCache.encode(user);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(user), first);
+        assertSame(first, userJsonCache.encode(user(1L, "John Doe", 0L)));
+    }
+
+    @Test
+    void testNewVersionIsEncodedAgainAndOlderNeverReplacesIt() throws IOException {
+        byte[] v0 = userJsonCache.encode(user(1L, "John Doe", 0L));
+        byte[] v1 = userJsonCache.encode(user(1L, "John Roe", 1L));
+
+        assertNotSame(v0, v1);
+        assertTrue(new String(v1).contains("John Roe"));
+        assertTrue(new String(userJsonCache.encode(user(1L, "John Doe", 0L))).contains("John Doe"));
+        assertSame(v1, userJsonCache.encode(user(1L, "John Roe", 1L)));
+    }
+
+    @Test
+    void testEvictAndDisabledCache() throws IOException {
+        byte[] cached = userJsonCache.encode(user(1L, "John Doe", 0L));
+        userJsonCache.evict(1L);
+        assertNotSame(cached, userJsonCache.encode(user(1L, "John Doe", 0L)));
+
+        UserJsonCache disabled = new UserJsonCache(objectMapper, false, 1 << 20);
+        UserResponse user = user(2L, "Jane Smith", 0L);
+        assertNotSame(disabled.encode(user), disabled.encode(user));
+    }
+
+    @Test
+    void testWritePageMatchesObjectMapper() throws IOException {
+        List<UserResponse> items = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            items.add(user(id, "User \"" + id + "\" ü", id));
+        }
+
+        assertPageMatches(new UserPageResponse(items, "aWQ6Mw", 42L));
+        assertPageMatches(new UserPageResponse(items.subList(0, 1), null, null));
+        assertPageMatches(new UserPageResponse(List.of(), null, 0L));
+    }
+
+    private void assertPageMatches(UserPageResponse page) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userJsonCache.writePage(page, out);
+        assertEquals(objectMapper.writeValueAsString(page), out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static UserResponse user(Long id, String name, Long version) {
+        return new UserResponse(id, name, "user" + id + "@example.com", 30,
+                LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000), version);
+    }
+}
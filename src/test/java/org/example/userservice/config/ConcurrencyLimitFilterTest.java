@@ -0,0 +1,73 @@
+package org.example.userservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10), new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void requestWithinLimit_ShouldPassThroughAndReleasePermit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.getInFlight()).isZero();
+    }
+
+    @Test
+    void requestOverLimit_ShouldBeRejectedWith503() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        // The outer request holds the only permit while the inner one arrives.
+        MockFilterChain holdingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response)
+                    throws IOException, ServletException {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/users/2"), rejected, new MockFilterChain());
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), new MockHttpServletResponse(), holdingChain);
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("Too many concurrent requests");
+        assertThat(filter.getInFlight()).isZero();
+    }
+
+    @Test
+    void failingRequest_ShouldStillReleasePermit() {
+        MockFilterChain failingChain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response)
+                    throws ServletException {
+                throw new ServletException("boom");
+            }
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"),
+                new MockHttpServletResponse(), failingChain)).isInstanceOf(ServletException.class);
+        assertThat(filter.getInFlight()).isZero();
+    }
+}
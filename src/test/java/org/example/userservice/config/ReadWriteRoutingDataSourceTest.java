@@ -0,0 +1,95 @@
+package org.example.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final HikariDataSource primary = mock(HikariDataSource.class);
+
+    @AfterEach
+    void tearDown() {
+        setCurrentTransactionReadOnly(false);
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    @Test
+    void testWritesAndNonTransactionalWorkUsePrimary() {
+        ReadWriteRoutingDataSource routing = routing(ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, 2);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testReadOnlyTransactionsRotateOverReplicas() {
+        ReadWriteRoutingDataSource routing = routing(ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, 2);
+        setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of(0, 1, 0), List.of(routing.determineCurrentLookupKey(),
+                routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()));
+    }
+
+    @Test
+    void testPinnedThreadReadsFromPrimary() {
+        ReadWriteRoutingDataSource routing = routing(ReadWriteRoutingDataSource.Selection.ROUND_ROBIN, 2);
+        setCurrentTransactionReadOnly(true);
+
+        ReadWriteRoutingDataSource.pinToPrimary();
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testLeastLoadedPicksReplicaWithFewestBusyConnections() {
+        HikariDataSource busy = replica(5, 1);
+        HikariDataSource idle = replica(1, 0);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, List.of(busy, idle),
+                ReadWriteRoutingDataSource.Selection.LEAST_LOADED);
+
+        assertEquals(1, routing.selectReplica());
+        assertEquals(1, routing.selectReplica());
+    }
+
+    @Test
+    void testRequiresReplica() {
+        assertThrows(IllegalArgumentException.class, () -> new ReadWriteRoutingDataSource(primary, List.of(),
+                ReadWriteRoutingDataSource.Selection.ROUND_ROBIN));
+    }
+
+    @Test
+    void testDestroyClosesReplicasOnly() {
+        HikariDataSource replica = mock(HikariDataSource.class);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, List.of(replica),
+                ReadWriteRoutingDataSource.Selection.ROUND_ROBIN);
+
+        routing.destroy();
+
+        verify(replica).close();
+        verify(primary, never()).close();
+    }
+
+    private ReadWriteRoutingDataSource routing(ReadWriteRoutingDataSource.Selection selection, int replicas) {
+        List<HikariDataSource> pools = IntStream.range(0, replicas)
+                .mapToObj(i -> mock(HikariDataSource.class))
+                .toList();
+        return new ReadWriteRoutingDataSource(primary, pools, selection);
+    }
+
+    private static HikariDataSource replica(int active, int waiting) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(active);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(waiting);
+        HikariDataSource replica = mock(HikariDataSource.class);
+        when(replica.getHikariPoolMXBean()).thenReturn(pool);
+        return replica;
+    }
+}
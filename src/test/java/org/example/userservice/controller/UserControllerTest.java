@@ -1,18 +1,36 @@
 package org.example.userservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.BulkDeleteResponse;
+import org.example.userservice.dto.IngestState;
+import org.example.userservice.dto.IngestStatus;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSuggestion;
+import org.example.userservice.exception.IngestQueueFullException;
+import org.example.userservice.exception.IngestTimeoutException;
+import org.example.userservice.exception.InvalidUserRequestException;
+import org.example.userservice.ingest.IngestTicket;
+import org.example.userservice.ingest.UserIngestQueue;
 import org.example.userservice.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -27,9 +45,12 @@ class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockBean
+    @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserIngestQueue ingestQueue;
+
     @Test
     void createUser_WithValidData_ShouldReturnCreated() throws Exception {
         String userJson = """
@@ -48,6 +69,75 @@ class UserControllerTest {
         verify(userService).createUser(any());
     }
 
+    @Test
+    void createUser_WithIngestEnabled_ShouldWaitForQueuedCreate() throws Exception {
+        when(ingestQueue.isEnabled()).thenReturn(true);
+        when(ingestQueue.submitAndAwait(any()))
+                .thenReturn(new UserResponse(7L, "John Doe", "john@example.com", 30, LocalDateTime.now(), 0L));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 30}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("ETag", "\"7.0\""))
+                .andExpect(jsonPath("$.id", is(7)));
+
+        verify(userService, never()).createUser(any());
+    }
+
+    @Test
+    void createUser_WhenQueuedCreateTimesOut_ShouldReturnServiceUnavailable() throws Exception {
+        when(ingestQueue.isEnabled()).thenReturn(true);
+        when(ingestQueue.submitAndAwait(any())).thenThrow(new IngestTimeoutException("t-9", Duration.ofSeconds(10)));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 30}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(header().string("Location", "/api/users/ingest/t-9"));
+    }
+
+    @Test
+    void createUser_WhenQueuedCreateIsInvalid_ShouldReturnBadRequest() throws Exception {
+        when(ingestQueue.isEnabled()).thenReturn(true);
+        when(ingestQueue.submitAndAwait(any())).thenThrow(new InvalidUserRequestException("name: must not be blank"));
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 30}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("name: must not be blank")));
+    }
+
+    @Test
+    void ingestUser_ShouldReturnAcceptedWithStatusUrl() throws Exception {
+        IngestTicket ticket = mock(IngestTicket.class);
+        when(ingestQueue.isEnabled()).thenReturn(true);
+        when(ingestQueue.submit(any())).thenReturn(ticket);
+        when(ticket.getId()).thenReturn("t-1");
+        when(ticket.getStatus()).thenReturn(new IngestStatus("t-1", IngestState.PENDING, null, null));
+
+        mockMvc.perform(post("/api/users/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 30}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/users/ingest/t-1"))
+                .andExpect(jsonPath("$.state", is("PENDING")));
+    }
+
+    @Test
+    void ingestUser_WhenQueueFull_ShouldReturnTooManyRequests() throws Exception {
+        when(ingestQueue.isEnabled()).thenReturn(true);
+        when(ingestQueue.submit(any())).thenThrow(new IngestQueueFullException("User ingestion queue is full"));
+
+        mockMvc.perform(post("/api/users/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 30}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void createUser_WithInvalidData_ShouldReturnBadRequest() throws Exception {
         String invalidUserJson = """
@@ -66,6 +156,70 @@ class UserControllerTest {
         verify(userService, never()).createUser(any());
     }
 
+    @Test
+    void createUsers_ShouldReturnPerItemResults() throws Exception {
+        String batchJson = """
+            [
+                {"name": "John Doe", "email": "john@example.com", "age": 30},
+                {"name": "", "email": "invalid-email", "age": -5}
+            ]
+            """;
+
+        when(userService.createUsers(anyList())).thenReturn(new BatchCreateResponse(List.of(
+                BatchItemResult.created(0, new UserResponse(1L, "John Doe", "john@example.com", 30, null)),
+                BatchItemResult.invalid(1, "email: Email should be valid"))));
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.invalid", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].user.id", is(1)))
+                .andExpect(jsonPath("$.results[1].status", is("INVALID")));
+
+        verify(userService).createUsers(argThat(requests -> requests.size() == 2));
+    }
+
+    @Test
+    void searchUsers_ShouldBindFiltersFromQueryParameters() throws Exception {
+        UserResponse user = new UserResponse(1L, "Alice", "alice@example.com", 30, LocalDateTime.now());
+        when(userService.searchUsers(any(), eq(10), isNull()))
+                .thenReturn(new UserPageResponse(List.of(user), null, null));
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("name", "Al")
+                        .param("minAge", "18")
+                        .param("createdFrom", "2024-01-01T00:00:00")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name", is("Alice")));
+
+        verify(userService).searchUsers(argThat(criteria -> "Al".equals(criteria.getName())
+                && criteria.getMinAge() == 18 && criteria.getMaxAge() == null
+                && LocalDateTime.of(2024, 1, 1, 0, 0).equals(criteria.getCreatedFrom())), eq(10), isNull());
+    }
+
+    @Test
+    void searchUsers_WithMalformedDate_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/search").param("createdFrom", "yesterday"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).searchUsers(any(), any(), any());
+    }
+
+    @Test
+    void suggestUsers_ShouldReturnMatches() throws Exception {
+        when(userService.suggestUsers("jo", 5))
+                .thenReturn(List.of(new UserSuggestion(1L, "John Doe", "john@example.com")));
+
+        mockMvc.perform(get("/api/users/suggest").param("q", "jo").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("John Doe")))
+                .andExpect(jsonPath("$[0].age").doesNotExist());
+    }
+
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() throws Exception {
 
@@ -75,6 +229,40 @@ class UserControllerTest {
         verify(userService).getUserById(1L);
     }
 
+    @Test
+    void getUserById_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutLoadingUser() throws Exception {
+        when(userService.getUserVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"1.3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1.3\""))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void updateUser_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        UserResponse updated = new UserResponse(1L, "John Doe", "john@example.com", 31, LocalDateTime.now(), 5L);
+        when(userService.updateUser(eq(1L), any(), eq(4L))).thenReturn(updated);
+
+        mockMvc.perform(put("/api/users/1")
+                        .header("If-Match", "\"1.4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"John Doe\", \"email\": \"john@example.com\", \"age\": 31}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.5\""));
+    }
+
+    @Test
+    void deleteUser_WithIfMatchForAnotherUser_ShouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(delete("/api/users/1").header("If-Match", "\"2.0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(412)));
+
+        verify(userService, never()).deleteUser(anyLong(), any());
+    }
+
     @Test
     void getUserById_WhenUserNotExists_ShouldReturnNotFound() throws Exception {
         when(userService.getUserById(999L))
@@ -94,19 +282,74 @@ class UserControllerTest {
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk());
 
-        verify(userService).getAllUsers();
+        verify(userService).getAllUsers(null, null, false);
     }
 
     @Test
     void getAllUsers_WhenNoUsers_ShouldReturnEmptyList() throws Exception {
 
-        when(userService.getAllUsers()).thenReturn(List.of());
+        when(userService.getAllUsers(null, null, false)).thenReturn(new UserPageResponse(List.of(), null, null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(userService).getAllUsers();
+        verify(userService).getAllUsers(null, null, false);
+    }
+
+    @Test
+    void getAllUsers_WithPagingParameters_ShouldPassThemToService() throws Exception {
+
+        UserResponse user = new UserResponse(3L, "John Doe", "john@example.com", 30, null);
+        when(userService.getAllUsers(1, "aWQ6Mg", true))
+                .thenReturn(new UserPageResponse(List.of(user), "aWQ6Mw", 10L));
+
+        mockMvc.perform(get("/api/users")
+                        .param("limit", "1")
+                        .param("after", "aWQ6Mg")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("aWQ6Mw")))
+                .andExpect(jsonPath("$.approximateTotal", is(10)));
+    }
+
+    @Test
+    void getAllUsers_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+
+        when(userService.getAllUsers(null, "garbage", false))
+                .thenThrow(new org.example.userservice.exception.InvalidCursorException("garbage"));
+
+        mockMvc.perform(get("/api/users").param("after", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
+    @Test
+    void exportUsers_ShouldStreamNdjson() throws Exception {
+
+        doAnswer(invocation -> {
+            Consumer<UserResponse> sink = invocation.getArgument(0);
+            sink.accept(new UserResponse(1L, "John Doe", "john@example.com", 30, null));
+            sink.accept(new UserResponse(2L, "Jane Smith", "jane@example.com", 25, null));
+            return null;
+        }).when(userService).exportUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("jane@example.com", objectMapper.readTree(lines[1]).get("email").asText());
     }
 
     @Test
@@ -125,7 +368,7 @@ class UserControllerTest {
                         .content(updateJson))
                 .andExpect(status().isOk());
 
-        verify(userService).updateUser(eq(1L), any());
+        verify(userService).updateUser(eq(1L), any(), any());
     }
 
     @Test
@@ -139,7 +382,7 @@ class UserControllerTest {
             }
             """;
 
-        when(userService.updateUser(eq(999L), any()))
+        when(userService.updateUser(eq(999L), any(), any()))
                 .thenThrow(new org.example.userservice.exception.UserNotFoundException(999L));
 
         mockMvc.perform(put("/api/users/999")
@@ -147,7 +390,7 @@ class UserControllerTest {
                         .content(updateJson))
                 .andExpect(status().isNotFound());
 
-        verify(userService).updateUser(eq(999L), any());
+        verify(userService).updateUser(eq(999L), any(), any());
     }
 
     @Test
@@ -161,7 +404,7 @@ class UserControllerTest {
             }
             """;
 
-        when(userService.updateUser(eq(1L), any()))
+        when(userService.updateUser(eq(1L), any(), any()))
                 .thenThrow(new org.example.userservice.exception.EmailAlreadyExistsException("existing@example.com"));
 
         mockMvc.perform(put("/api/users/1")
@@ -169,30 +412,79 @@ class UserControllerTest {
                         .content(updateJson))
                 .andExpect(status().isConflict());
 
-        verify(userService).updateUser(eq(1L), any());
+        verify(userService).updateUser(eq(1L), any(), any());
+    }
+
+    @Test
+    void patchUser_WithPartialData_ShouldReturnUpdatedUser() throws Exception {
+        UserResponse patched = new UserResponse(1L, "John Doe", "john@example.com", 40, LocalDateTime.now());
+        when(userService.patchUser(eq(1L), any(), any())).thenReturn(patched);
+
+        mockMvc.perform(patch("/api/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 40}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age", is(40)));
+
+        verify(userService).patchUser(eq(1L), argThat(request ->
+                request.getAge() == 40 && request.getName() == null && request.getEmail() == null), isNull());
+    }
+
+    @Test
+    void patchUser_WithBlankName_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"  \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name", is("Name cannot be blank")));
+
+        verify(userService, never()).patchUser(anyLong(), any(), any());
+    }
+
+    @Test
+    void patchUser_WhenUserNotExists_ShouldReturnNotFound() throws Exception {
+        when(userService.patchUser(eq(999L), any(), any()))
+                .thenThrow(new org.example.userservice.exception.UserNotFoundException(999L));
+
+        mockMvc.perform(patch("/api/users/999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 40}"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
     void deleteUser_WhenUserExists_ShouldReturnNoContent() throws Exception {
 
-        doNothing().when(userService).deleteUser(1L);
+        doNothing().when(userService).deleteUser(1L, null);
 
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isNoContent());
 
-        verify(userService).deleteUser(1L);
+        verify(userService).deleteUser(1L, null);
     }
 
     @Test
     void deleteUser_WhenUserNotExists_ShouldReturnNotFound() throws Exception {
 
         doThrow(new org.example.userservice.exception.UserNotFoundException(999L))
-                .when(userService).deleteUser(999L);
+                .when(userService).deleteUser(999L, null);
 
         mockMvc.perform(delete("/api/users/999"))
                 .andExpect(status().isNotFound());
 
-        verify(userService).deleteUser(999L);
+        verify(userService).deleteUser(999L, null);
+    }
+
+    @Test
+    void deleteUsers_ShouldReturnDeletedCount() throws Exception {
+        when(userService.deleteUsers(List.of(1L, 2L, 3L))).thenReturn(new BulkDeleteResponse(3, 2));
+
+        mockMvc.perform(delete("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(3)))
+                .andExpect(jsonPath("$.deleted", is(2)));
     }
 
     @Test
@@ -0,0 +1,49 @@
+package org.example.userservice.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainExceptionTest {
+
+    @AfterEach
+    void tearDown() {
+        DomainException.captureStackTraces(false);
+    }
+
+    @Test
+    void testStackTraceIsSkippedByDefault() {
+        assertFalse(DomainException.isCapturingStackTraces());
+
+        assertEquals(0, new UserNotFoundException(1L).getStackTrace().length);
+        assertEquals(0, new EmailAlreadyExistsException("a@example.com").getStackTrace().length);
+    }
+
+    @Test
+    void testStackTraceIsCapturedWhenEnabled() {
+        DomainException.captureStackTraces(true);
+
+        StackTraceElement[] trace = new UserNotFoundException(1L).getStackTrace();
+
+        assertTrue(trace.length > 0);
+        assertEquals(DomainExceptionTest.class.getName(), trace[0].getClassName());
+    }
+
+    @Test
+    void testMessagesAreDescribedOnDemand() {
+        assertEquals("User not found with id: 7", new UserNotFoundException(7L).getMessage());
+        assertEquals("User not found with email: a@example.com",
+                UserNotFoundException.byEmail("a@example.com").getMessage());
+        assertEquals("Email already exists: a@example.com",
+                new EmailAlreadyExistsException("a@example.com").getMessage());
+        assertEquals("custom", new UserNotFoundException("custom").getMessage());
+        assertTrue(new UserNotFoundException(7L).toString().endsWith(": User not found with id: 7"));
+    }
+
+    @Test
+    void testErrorTimestampHasMillisecondPrecision() {
+        assertNotNull(GlobalExceptionHandler.now());
+        assertEquals(0, GlobalExceptionHandler.now().getNano() % 1_000_000);
+    }
+}
@@ -42,6 +42,30 @@ class GlobalExceptionHandlerTest {
         assertTrue(response.getBody().getMessage().contains("already exists"));
     }
 
+    @Test
+    void handleInvalidCursor_ShouldReturnBadRequestResponse() {
+        InvalidCursorException exception = new InvalidCursorException("garbage");
+
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleInvalidCursor(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(400, response.getBody().getStatus());
+        assertTrue(response.getBody().getMessage().contains("garbage"));
+    }
+
+    @Test
+    void handleBatchSizeExceeded_ShouldReturnBadRequestResponse() {
+        BatchSizeExceededException exception = new BatchSizeExceededException(6000, 5000);
+
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleBatchSizeExceeded(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(400, response.getBody().getStatus());
+        assertTrue(response.getBody().getMessage().contains("5000"));
+    }
+
     @Test
     void handleValidationExceptions_ShouldReturnBadRequestWithErrors() {
         MethodArgumentNotValidException exception = mock(MethodArgumentNotValidException.class);
@@ -0,0 +1,55 @@
+package org.example.userservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 0);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 0);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < probes * 0.02,
+                "False-positive rate too high: " + (double) falsePositives / probes);
+    }
+
+    @Test
+    void testMemoryBudgetCapsFilterSize() {
+        BloomFilter filter = BloomFilter.create(10_000_000, 0.001, 1024);
+
+        assertTrue(filter.sizeInBytes() <= 1024);
+        assertTrue(filter.hashCount() >= 1);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(100, 0.01, 0);
+
+        assertFalse(filter.mightContain("john@example.com"));
+        assertEquals(0.0, filter.expectedFalsePositiveRate(0));
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.userservice.index;
+
+import org.example.userservice.repository.UserCountEstimator;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCountEstimator userCountEstimator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EmailFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        emailFilter = new EmailFilter(userRepository, userCountEstimator, transactionTemplate,
+                true, 1000, 0.01, 0, 0.2, Duration.ofHours(1));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(new SimpleTransactionStatus()));
+    }
+
+    @Test
+    void testFallsBackToDatabaseUntilBuilt() {
+        assertTrue(emailFilter.mightContain("anyone@example.com"));
+        assertFalse(emailFilter.stats().isReady());
+        assertEquals(1, emailFilter.stats().getDatabaseFallbacks());
+    }
+
+    @Test
+    void testRebuildLoadsEveryEmail() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("john@example.com", "jane@example.com"));
+
+        assertTrue(emailFilter.rebuild());
+
+        assertTrue(emailFilter.mightContain("john@example.com"));
+        assertTrue(emailFilter.mightContain("jane@example.com"));
+        assertFalse(emailFilter.mightContain("nobody@example.com"));
+
+        EmailFilterStats stats = emailFilter.stats();
+        assertTrue(stats.isReady());
+        assertEquals(2, stats.getInsertions());
+        assertEquals(1, stats.getDefiniteMisses());
+        assertEquals(2, stats.getDatabaseFallbacks());
+        assertNotNull(stats.getLastRebuild());
+    }
+
+    @Test
+    void testAddedEmailsAreVisibleImmediately() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        emailFilter.rebuild();
+
+        emailFilter.add("new@example.com");
+
+        assertTrue(emailFilter.mightContain("new@example.com"));
+    }
+
+    @Test
+    void testRebuildsOnceTooManyEntriesAreStale() {
+        when(userRepository.streamAllEmails())
+                .thenReturn(Stream.of("a@example.com", "b@example.com"))
+                .thenReturn(Stream.of("b@example.com"));
+        emailFilter.rebuild();
+
+        emailFilter.rebuildIfDrifted();
+        verify(userRepository, times(1)).streamAllEmails();
+
+        emailFilter.markStale(1);
+        emailFilter.rebuildIfDrifted();
+
+        verify(userRepository, times(2)).streamAllEmails();
+        assertEquals(0, emailFilter.stats().getStaleEntries());
+        assertFalse(emailFilter.mightContain("a@example.com"));
+    }
+
+    @Test
+    void testWrongMissesCountTowardsRebuild() {
+        when(userRepository.streamAllEmails())
+                .thenReturn(Stream.of("a@example.com", "b@example.com"))
+                .thenReturn(Stream.of("a@example.com", "b@example.com", "elsewhere@example.com"));
+        emailFilter.rebuild();
+
+        emailFilter.recordWrongMisses(1);
+        emailFilter.rebuildIfDrifted();
+
+        verify(userRepository, times(2)).streamAllEmails();
+        assertEquals(1, emailFilter.stats().getWrongMisses());
+        assertTrue(emailFilter.mightContain("elsewhere@example.com"));
+    }
+
+    @Test
+    void testScheduledCheckLeavesFirstBuildToStartup() {
+        emailFilter.rebuildIfDrifted();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testFailedStartupBuildIsRetried() {
+        when(userRepository.streamAllEmails())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Stream.of("john@example.com"));
+        emailFilter.buildOnStartup();
+        assertFalse(emailFilter.stats().isReady());
+
+        emailFilter.rebuildIfDrifted();
+
+        assertTrue(emailFilter.stats().isReady());
+        assertTrue(emailFilter.mightContain("john@example.com"));
+    }
+
+    @Test
+    void testFailedRebuildKeepsPreviousFilter() {
+        when(userRepository.streamAllEmails())
+                .thenReturn(Stream.of("john@example.com"))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        emailFilter.rebuild();
+
+        assertFalse(emailFilter.rebuild());
+
+        assertTrue(emailFilter.mightContain("john@example.com"));
+    }
+
+    @Test
+    void testDisabledFilterNeverShortCircuits() {
+        EmailFilter disabled = new EmailFilter(userRepository, userCountEstimator, transactionTemplate,
+                false, 1000, 0.01, 0, 0.2, Duration.ofHours(1));
+
+        disabled.buildOnStartup();
+
+        assertTrue(disabled.mightContain("nobody@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.userservice.index;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSuggestion;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSuggestIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserSuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new UserSuggestIndex(userRepository, transactionTemplate, true, 0);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<SimpleTransactionStatus>>getArgument(0).accept(new SimpleTransactionStatus());
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testEmptyUntilBuilt() {
+        assertTrue(suggestIndex.suggest("jo", 10).isEmpty());
+        assertFalse(suggestIndex.stats().isReady());
+    }
+
+    @Test
+    void testMatchesNameWordsAndEmailIgnoringCase() {
+        build(user(1L, "John Doe", "jd@example.com", 0), user(2L, "Jane Smith", "doe.fan@example.com", 0));
+
+        assertEquals(List.of(1L, 2L), ids(suggestIndex.suggest("DOE", 10)));
+        assertEquals(List.of(2L), ids(suggestIndex.suggest("jane s", 10)));
+        assertEquals(List.of(1L), ids(suggestIndex.suggest("  jd@", 10)));
+        assertTrue(suggestIndex.suggest("", 10).isEmpty());
+        assertTrue(suggestIndex.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void testReturnsEachUserOnceUpToLimit() {
+        build(user(1L, "Anna Anderson", "anna@example.com", 0),
+                user(2L, "Andy", "andy@example.com", 0),
+                user(3L, "Andrea", "andrea@example.com", 0));
+
+        List<UserSuggestion> suggestions = suggestIndex.suggest("an", 2);
+
+        assertEquals(2, suggestions.size());
+        assertEquals(2, suggestions.stream().map(UserSuggestion::getId).distinct().count());
+        assertEquals(3, suggestIndex.suggest("an", 10).size());
+    }
+
+    @Test
+    void testWritesReplaceAndRemoveTerms() {
+        build(user(1L, "John Doe", "john@example.com", 0));
+
+        suggestIndex.put(user(1L, "John Roe", "john@example.com", 1));
+        assertTrue(suggestIndex.suggest("doe", 10).isEmpty());
+        assertEquals(List.of(1L), ids(suggestIndex.suggest("roe", 10)));
+
+        suggestIndex.put(user(1L, "John Stale", "john@example.com", 0));
+        assertTrue(suggestIndex.suggest("stale", 10).isEmpty());
+
+        suggestIndex.remove(1L);
+        assertTrue(suggestIndex.suggest("john", 10).isEmpty());
+        assertEquals(0, suggestIndex.stats().getEstimatedBytes());
+    }
+
+    @Test
+    void testDeleteDuringRebuildIsNotResurrectedByScan() {
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(1L, 2L).map(id -> {
+            if (id == 1L) {
+                suggestIndex.remove(2L);
+            }
+            return user(id, "User " + id, "user" + id + "@example.com", 0);
+        }));
+
+        assertTrue(suggestIndex.rebuild());
+
+        assertEquals(List.of(1L), ids(suggestIndex.suggest("user", 10)));
+    }
+
+    @Test
+    void testMemoryCapLeavesUsersOutAndReportsIt() {
+        suggestIndex = new UserSuggestIndex(userRepository, transactionTemplate, true, 400);
+        build(user(1L, "Alice", "alice@example.com", 0),
+                user(2L, "Bob", "bob@example.com", 0),
+                user(3L, "Carol", "carol@example.com", 0));
+
+        UserSuggestIndexStats stats = suggestIndex.stats();
+        assertTrue(stats.isTruncated());
+        assertTrue(stats.getUsers() < 3);
+        assertTrue(stats.getEstimatedBytes() <= 400);
+    }
+
+    @Test
+    void testDisabledIndexNeverBuilds() {
+        suggestIndex = new UserSuggestIndex(userRepository, transactionTemplate, false, 0);
+
+        assertFalse(suggestIndex.rebuild());
+        verifyNoInteractions(userRepository);
+    }
+
+    private void build(UserResponse... users) {
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(users));
+        assertTrue(suggestIndex.rebuild());
+    }
+
+    private static UserResponse user(Long id, String name, String email, long version) {
+        return new UserResponse(id, name, email, 30, LocalDateTime.now(), version);
+    }
+
+    private static List<Long> ids(List<UserSuggestion> suggestions) {
+        return suggestions.stream().map(UserSuggestion::getId).toList();
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.userservice.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestRingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(1, new IngestRingBuffer<>(1).capacity());
+        assertEquals(8, new IngestRingBuffer<>(5).capacity());
+        assertEquals(16, new IngestRingBuffer<>(16).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new IngestRingBuffer<>(0));
+    }
+
+    @Test
+    void testFifoAndRejectsWhenFull() {
+        IngestRingBuffer<Integer> ring = new IngestRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertEquals(4, ring.size());
+
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+        assertEquals(List.of(1, 2, 3, 4), drain(ring));
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void testWrapsAroundManyTimes() {
+        IngestRingBuffer<Integer> ring = new IngestRingBuffer<>(2);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ring.offer(i));
+            assertEquals(i, ring.poll());
+        }
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        IngestRingBuffer<Integer> ring = new IngestRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer value = ring.poll();
+            if (value != null) {
+                assertTrue(seen.add(value), "delivered twice: " + value);
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(ring.poll());
+    }
+
+    private static List<Integer> drain(IngestRingBuffer<Integer> ring) {
+        List<Integer> values = new ArrayList<>();
+        Integer value;
+        while ((value = ring.poll()) != null) {
+            values.add(value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.userservice.ingest;
+
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BatchItemResult;
+import org.example.userservice.dto.IngestState;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.IngestQueueFullException;
+import org.example.userservice.exception.IngestTicketNotFoundException;
+import org.example.userservice.exception.IngestTimeoutException;
+import org.example.userservice.exception.InvalidUserRequestException;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIngestQueueTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Mock
+    private UserService userService;
+
+    @Captor
+    private ArgumentCaptor<List<UserRequest>> batch;
+
+    private UserIngestQueue ingestQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (ingestQueue != null) {
+            ingestQueue.close();
+        }
+    }
+
+    @Test
+    void testCoalescesSingleCreatesIntoOneBatch() {
+        ingestQueue = queue(16, 3, Duration.ofMinutes(1));
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> createdAll(invocation.getArgument(0)));
+
+        List<IngestTicket> tickets = List.of(
+                ingestQueue.submit(request("a@example.com")),
+                ingestQueue.submit(request("b@example.com")),
+                ingestQueue.submit(request("c@example.com")));
+
+        assertEquals(List.of("a@example.com", "b@example.com", "c@example.com"),
+                tickets.stream().map(ticket -> ticket.await(WAIT).getEmail()).toList());
+        verify(userService, times(1)).createUsers(anyList());
+        assertEquals(IngestState.CREATED, ingestQueue.status(tickets.get(0).getId()).getState());
+        assertEquals(1, ingestQueue.stats().getBatches());
+        assertEquals(3, ingestQueue.stats().getCreated());
+    }
+
+    @Test
+    void testFlushesPartialBatchAfterMaxDelay() {
+        ingestQueue = queue(16, 100, Duration.ofMillis(5));
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> createdAll(invocation.getArgument(0)));
+
+        IngestTicket ticket = ingestQueue.submit(request("late@example.com"));
+
+        assertEquals("late@example.com", ticket.getResult().orTimeout(5, TimeUnit.SECONDS).join().getEmail());
+    }
+
+    @Test
+    void testRejectsDuplicateQueuedEmailAndFullQueue() {
+        ingestQueue = queue(2, 100, Duration.ofMinutes(1));
+
+        ingestQueue.submit(request("dup@example.com"));
+        assertThrows(EmailAlreadyExistsException.class, () -> ingestQueue.submit(request("dup@example.com")));
+        ingestQueue.submit(request("second@example.com"));
+        assertThrows(IngestQueueFullException.class, () -> ingestQueue.submit(request("third@example.com")));
+        assertEquals(1, ingestQueue.stats().getRejected());
+    }
+
+    @Test
+    void testCreatesHeldByTheFlusherCountAgainstCapacity() throws Exception {
+        ingestQueue = queue(2, 2, Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            release.await(WAIT.toSeconds(), TimeUnit.SECONDS);
+            return createdAll(invocation.getArgument(0));
+        });
+
+        IngestTicket first = ingestQueue.submit(request("first@example.com"));
+        IngestTicket second = ingestQueue.submit(request("second@example.com"));
+        // The ring is empty again, but both creates are still in the batch being written.
+        verify(userService, timeout(WAIT.toMillis())).createUsers(anyList());
+        assertThrows(IngestQueueFullException.class, () -> ingestQueue.submit(request("third@example.com")));
+        assertEquals(2, ingestQueue.stats().getQueued());
+
+        release.countDown();
+        first.await(WAIT);
+        second.await(WAIT);
+        assertEquals(0, ingestQueue.stats().getQueued());
+        assertEquals("third@example.com", ingestQueue.submit(request("third@example.com")).getRequest().getEmail());
+    }
+
+    @Test
+    void testConflictInBatchFailsOnlyThatTicket() {
+        ingestQueue = queue(16, 2, Duration.ofMinutes(1));
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<UserRequest> requests = invocation.getArgument(0);
+            return new BatchCreateResponse(List.of(
+                    BatchItemResult.created(0, response(1L, requests.get(0))),
+                    BatchItemResult.conflict(1, "Email already exists: " + requests.get(1).getEmail())));
+        });
+
+        IngestTicket ok = ingestQueue.submit(request("new@example.com"));
+        IngestTicket taken = ingestQueue.submit(request("taken@example.com"));
+
+        assertEquals(1L, ok.await(WAIT).getId());
+        assertThrows(EmailAlreadyExistsException.class, () -> taken.await(WAIT));
+        assertEquals(IngestState.CONFLICT, ingestQueue.status(taken.getId()).getState());
+    }
+
+    @Test
+    void testInvalidItemFailsWithDomainException() {
+        ingestQueue = queue(16, 1, Duration.ofMinutes(1));
+        when(userService.createUsers(anyList())).thenReturn(new BatchCreateResponse(List.of(
+                BatchItemResult.invalid(0, "age: must be greater than or equal to 0"))));
+
+        IngestTicket invalid = ingestQueue.submit(request("invalid@example.com"));
+
+        InvalidUserRequestException e = assertThrows(InvalidUserRequestException.class, () -> invalid.await(WAIT));
+        assertEquals("age: must be greater than or equal to 0", e.getMessage());
+        assertEquals(IngestState.INVALID, ingestQueue.status(invalid.getId()).getState());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedItemByItem() {
+        ingestQueue = queue(16, 2, Duration.ofMinutes(1));
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<UserRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(r -> r.getEmail().equals("raced@example.com"))) {
+                throw new EmailAlreadyExistsException("raced@example.com");
+            }
+            return createdAll(requests);
+        });
+
+        IngestTicket ok = ingestQueue.submit(request("fine@example.com"));
+        IngestTicket raced = ingestQueue.submit(request("raced@example.com"));
+
+        assertEquals("fine@example.com", ok.await(WAIT).getEmail());
+        assertThrows(EmailAlreadyExistsException.class, () -> raced.await(WAIT));
+        verify(userService, times(3)).createUsers(anyList());
+        assertEquals(1, ingestQueue.stats().getFailed());
+    }
+
+    @Test
+    void testCloseFlushesQueuedCreatesAndStopsAccepting() {
+        ingestQueue = queue(16, 100, Duration.ofMinutes(1));
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> createdAll(invocation.getArgument(0)));
+        IngestTicket first = ingestQueue.submit(request("one@example.com"));
+        IngestTicket second = ingestQueue.submit(request("two@example.com"));
+
+        ingestQueue.close();
+
+        assertTrue(first.getResult().isDone());
+        assertTrue(second.getResult().isDone());
+        verify(userService).createUsers(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertThrows(IngestQueueFullException.class, () -> ingestQueue.submit(request("late@example.com")));
+    }
+
+    @Test
+    void testWaitIsBounded() {
+        // Nothing flushes before the batch fills or a minute passes.
+        ingestQueue = queue(16, 100, Duration.ofMinutes(1));
+        IngestTicket ticket = ingestQueue.submit(request("slow@example.com"));
+
+        IngestTimeoutException e = assertThrows(IngestTimeoutException.class,
+                () -> ticket.await(Duration.ofMillis(20)));
+        assertEquals(ticket.getId(), e.getTicket());
+        assertEquals(IngestState.PENDING, ingestQueue.status(ticket.getId()).getState());
+    }
+
+    @Test
+    void testFlusherSurvivesErrorsAndFailsHeldCreates() {
+        ingestQueue = queue(16, 1, Duration.ofMinutes(1));
+        when(userService.createUsers(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenAnswer(invocation -> createdAll(invocation.getArgument(0)));
+
+        IngestTicket lost = ingestQueue.submit(request("lost@example.com"));
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> lost.await(WAIT));
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+        assertEquals(IngestState.FAILED, ingestQueue.status(lost.getId()).getState());
+
+        // Still flushing, and the failed email can be queued again.
+        assertEquals("lost@example.com", ingestQueue.submit(request("lost@example.com")).await(WAIT).getEmail());
+    }
+
+    @Test
+    void testUnknownTicketAndDisabledQueue() {
+        ingestQueue = queue(16, 10, Duration.ofMinutes(1));
+        assertThrows(IngestTicketNotFoundException.class, () -> ingestQueue.status("missing"));
+
+        UserIngestQueue disabled = new UserIngestQueue(userService, false, 16, 10, Duration.ofMillis(10),
+                Duration.ofMinutes(1), Duration.ofSeconds(1), WAIT);
+        disabled.start();
+        assertFalse(disabled.isEnabled());
+        assertThrows(IllegalStateException.class, () -> disabled.submit(request("x@example.com")));
+        disabled.close();
+    }
+
+    private UserIngestQueue queue(int capacity, int batchSize, Duration maxDelay) {
+        UserIngestQueue queue = new UserIngestQueue(userService, true, capacity, batchSize, maxDelay,
+                Duration.ofMinutes(1), Duration.ofSeconds(10), WAIT);
+        queue.start();
+        return queue;
+    }
+
+    private static BatchCreateResponse createdAll(List<UserRequest> requests) {
+        List<BatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(BatchItemResult.created(i, response(i + 1L, requests.get(i))));
+        }
+        return new BatchCreateResponse(results);
+    }
+
+    private static UserResponse response(Long id, UserRequest request) {
+        return new UserResponse(id, request.getName(), request.getEmail(), request.getAge(), LocalDateTime.now(), 0L);
+    }
+
+    private static UserRequest request(String email) {
+        return new UserRequest("User", email, 30);
+    }
+}
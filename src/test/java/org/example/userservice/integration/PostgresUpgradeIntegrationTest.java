@@ -0,0 +1,93 @@
+package org.example.userservice.integration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the default stack against a PostgreSQL database holding the baseline schema and
+ * rows, as a deploy over an existing installation would, and checks that it comes up and
+ * keeps working. H2 cannot stand in here: the upgrade steps in db/schema-postgresql.sql are
+ * PostgreSQL-specific.
+ */
+@SpringBootTest(properties = "spring.sql.init.platform=postgresql")
+@DirtiesContext
+class PostgresUpgradeIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = startWithBaselineSchema();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @Test
+    void testIdentityColumnIsReplacedBySequenceDefault() {
+        assertEquals("NO", jdbcTemplate.queryForObject(
+                "SELECT is_identity FROM information_schema.columns "
+                        + "WHERE table_name = 'users' AND column_name = 'id'", String.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE name LIKE '% Legacy'", Integer.class));
+    }
+
+    @Test
+    void testNewUsersDoNotReuseExistingIds() {
+        Long maxLegacyId = jdbcTemplate.queryForObject(
+                "SELECT max(id) FROM users WHERE name LIKE '% Legacy'", Long.class);
+
+        UserResponse created = userService.createUser(new UserRequest("New User", "new@example.com", 25));
+
+        assertTrue(created.getId() > maxLegacyId, () -> "id " + created.getId() + " <= " + maxLegacyId);
+        assertEquals("ann@example.com", userService.getUserById(1L).getEmail());
+    }
+
+    @Test
+    void testLegacyEmailConstraintIsRenamed() {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = 'users'::regclass AND contype = 'u'",
+                String.class);
+
+        assertEquals(List.of("uk_users_email"), constraints);
+    }
+
+    @Test
+    void testDuplicateOfLegacyEmailIsAConflict() {
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> userService.createUser(new UserRequest("Ann Again", "ann@example.com", 20)));
+    }
+
+    private static EmbeddedPostgres startWithBaselineSchema() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            new ResourceDatabasePopulator(new ClassPathResource("db/baseline-postgresql.sql"))
+                    .execute(postgres.getPostgresDatabase());
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
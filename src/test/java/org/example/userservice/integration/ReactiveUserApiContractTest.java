@@ -0,0 +1,32 @@
+package org.example.userservice.integration;
+
+import org.example.userservice.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+@TestPropertySource(locations = "classpath:application-reactive-test.properties")
+class ReactiveUserApiContractTest extends UserApiContractTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Override
+    protected WebTestClient createClient() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void deleteAllUsers() {
+        userRepository.deleteAll().block();
+    }
+}
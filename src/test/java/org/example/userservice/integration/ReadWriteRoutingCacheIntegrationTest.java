@@ -0,0 +1,87 @@
+package org.example.userservice.integration;
+
+import jakarta.servlet.http.Cookie;
+import org.example.userservice.cache.UserCache;
+import org.example.userservice.entity.User;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * With replica routing on, the shared lookup cache must only be filled from the primary:
+ * a replica's row may lag behind a write that has already evicted the entry.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-cache-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replica-urls=" + ReadWriteRoutingCacheIntegrationTest.REPLICA_URL,
+        "app.users.cache.enabled=true"
+})
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class ReadWriteRoutingCacheIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-cache-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        userCache.clear();
+        replica.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, age INTEGER, created_at TIMESTAMP(6), "
+                + "version BIGINT DEFAULT 0 NOT NULL)");
+        replica.update("DELETE FROM users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void replicaReads_ShouldNotFillTheCache() throws Exception {
+        replica.update("INSERT INTO users (id, name, email, age, created_at, version) "
+                + "VALUES (1000, 'Lagging Copy', 'lagging@test.com', 40, CURRENT_TIMESTAMP, 0)");
+
+        mockMvc.perform(get("/api/users/1000")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/email/lagging@test.com")).andExpect(status().isOk());
+
+        assertTrue(userCache.getById(1000L).isEmpty());
+        assertTrue(userCache.getByEmail("lagging@test.com").isEmpty());
+    }
+
+    @Test
+    void pinnedReads_ShouldFillTheCache() throws Exception {
+        Long id = userRepository.saveAndFlush(new User("Primary User", "primary@test.com", 30)).getId();
+        Cookie pin = new Cookie("primary-until", Long.toString(System.currentTimeMillis() + 60_000));
+
+        mockMvc.perform(get("/api/users/{id}", id).cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Primary User")));
+
+        assertEquals("Primary User", userCache.getById(id).orElseThrow().getName());
+    }
+}
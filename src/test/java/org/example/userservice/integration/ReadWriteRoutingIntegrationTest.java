@@ -0,0 +1,108 @@
+package org.example.userservice.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.http.Cookie;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two in-memory H2 databases stand in for a primary and a replica. Nothing replicates
+ * between them, so which one answered a read shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replica-urls=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.routing.read-your-writes-window=1m",
+        // Both would answer reads without asking the database.
+        "app.users.cache.enabled=false",
+        "app.users.email-filter.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class ReadWriteRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        replica.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL UNIQUE, age INTEGER, created_at TIMESTAMP(6), "
+                + "version BIGINT DEFAULT 0 NOT NULL)");
+        replica.update("DELETE FROM users");
+        replica.update("INSERT INTO users (id, name, email, age, created_at, version) "
+                + "VALUES (1000, 'Replica Only', 'replica@test.com', 40, CURRENT_TIMESTAMP, 0)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readOnlyOperations_ShouldBeServedByReplica() throws Exception {
+        mockMvc.perform(get("/api/users/1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Replica Only")));
+        mockMvc.perform(get("/api/users/email/replica@test.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1000)));
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", contains("Replica Only")));
+        // Spring Data's own read methods run read-only too; the primary holds no users here.
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void writes_ShouldGoToPrimaryAndPinTheWriterForReads() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Primary User\", \"email\": \"primary@test.com\", \"age\": 30}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists("primary-until"))
+                .andReturn();
+        Cookie pin = created.getResponse().getCookie("primary-until");
+        Number id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM users WHERE email = 'primary@test.com'",
+                Integer.class));
+        // Another client reads from the replica, which never received the row.
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isNotFound());
+        // The writer is pinned to the primary for the read-your-writes window.
+        mockMvc.perform(get("/api/users/{id}", id).cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("primary@test.com")));
+        mockMvc.perform(get("/api/users/1000").cookie(pin))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/{id}", id).cookie(new Cookie("primary-until", "0")))
+                .andExpect(status().isNotFound());
+    }
+}
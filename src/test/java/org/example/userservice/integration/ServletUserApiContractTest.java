@@ -0,0 +1,80 @@
+package org.example.userservice.integration;
+
+import org.example.userservice.cache.UserCache;
+import org.example.userservice.index.UserSuggestIndex;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+import java.util.Map;
+
+// Runs the contract with pre-encoded JSON bodies on; every other servlet test uses Jackson directly.
+@SpringBootTest(properties = "app.users.json-cache.enabled=true")
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class ServletUserApiContractTest extends UserApiContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserSuggestIndex suggestIndex;
+
+    @Override
+    protected WebTestClient createClient() {
+        return MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected void deleteAllUsers() {
+        userRepository.deleteAllInBatch();
+        userCache.clear();
+        suggestIndex.rebuild();
+    }
+
+    // The suggest index belongs to the blocking stack, so this is not part of the shared contract.
+    @Test
+    void suggestUsers_ShouldFollowWrites() {
+        Map<?, ?> created = client.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Grace Hopper", "email", "grace@test.com", "age", 85))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class).returnResult().getResponseBody();
+
+        client.get().uri("/api/users/suggest?q=hop").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo("grace@test.com");
+
+        client.patch().uri("/api/users/{id}", created.get("id"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Grace Brewster"))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/api/users/suggest?q=hop").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+
+        client.delete().uri("/api/users/{id}", created.get("id")).exchange().expectStatus().isNoContent();
+
+        client.get().uri("/api/users/suggest?q=GRA").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(0);
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.userservice.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The /api/users contract, run against both the Spring MVC + JPA stack and the
+ * WebFlux + R2DBC stack by the subclasses.
+ */
+abstract class UserApiContractTest {
+
+    protected WebTestClient client;
+
+    protected abstract WebTestClient createClient();
+
+    protected abstract void deleteAllUsers();
+
+    @BeforeEach
+    void setUpClient() {
+        deleteAllUsers();
+        client = createClient();
+    }
+
+    @Test
+    void createAndFetchUser_ShouldReturnSameRepresentation() {
+        Number id = createUser("Contract User", "contract@test.com", 25);
+
+        client.get().uri("/api/users/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Contract User")
+                .jsonPath("$.email").isEqualTo("contract@test.com")
+                .jsonPath("$.age").isEqualTo(25)
+                .jsonPath("$.createdAt").exists();
+
+        client.get().uri("/api/users/email/{email}", "contract@test.com").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(id);
+    }
+
+    @Test
+    void createUserWithDuplicateEmail_ShouldReturnConflict() {
+        createUser("First", "dup@test.com", 30);
+
+        client.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Second", "email", "dup@test.com", "age", 31))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.message").value(message -> assertThat((String) message).contains("already exists"));
+    }
+
+    @Test
+    void createUserWithInvalidData_ShouldReturnFieldErrors() {
+        client.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "", "email", "not-an-email", "age", -1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Name cannot be blank")
+                .jsonPath("$.email").isEqualTo("Email should be valid")
+                .jsonPath("$.age").isEqualTo("Age cannot be negative");
+    }
+
+    @Test
+    void unknownUser_ShouldReturnNotFound() {
+        client.get().uri("/api/users/{id}", 999_999).exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("User not found with id: 999999");
+
+        client.get().uri("/api/users/email/{email}", "nobody@test.com").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void updateAndPatchUser_ShouldApplyChanges() {
+        Number id = createUser("Before", "before@test.com", 20);
+
+        client.put().uri("/api/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "After", "email", "after@test.com", "age", 21))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("After")
+                .jsonPath("$.email").isEqualTo("after@test.com");
+
+        client.patch().uri("/api/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("age", 40))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("After")
+                .jsonPath("$.age").isEqualTo(40);
+
+        client.patch().uri("/api/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Cleared\", \"age\": null}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Cleared")
+                .jsonPath("$.age").doesNotExist();
+    }
+
+    @Test
+    void updateUserToTakenEmail_ShouldReturnConflict() {
+        createUser("Owner", "owner@test.com", 30);
+        Number id = createUser("Other", "other@test.com", 31);
+
+        client.put().uri("/api/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Other", "email", "owner@test.com", "age", 31))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        client.put().uri("/api/users/{id}", 999_999)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Nobody", "email", "nobody@test.com", "age", 31))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteUsers_ShouldReportDeletedRows() {
+        Number first = createUser("First", "first@test.com", 30);
+        Number second = createUser("Second", "second@test.com", 31);
+
+        client.delete().uri("/api/users/{id}", first).exchange().expectStatus().isNoContent();
+        client.delete().uri("/api/users/{id}", first).exchange().expectStatus().isNotFound();
+
+        client.method(HttpMethod.DELETE).uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(first.longValue(), second.longValue()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.requested").isEqualTo(2)
+                .jsonPath("$.deleted").isEqualTo(1);
+    }
+
+    @Test
+    void listUsers_ShouldPageWithCursor() {
+        createUser("One", "one@test.com", 1);
+        createUser("Two", "two@test.com", 2);
+        createUser("Three", "three@test.com", 3);
+
+        Map<?, ?> firstPage = client.get().uri("/api/users?limit=2&includeTotal=true").exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        assertThat((List<?>) firstPage.get("items")).hasSize(2);
+        assertThat(firstPage.get("approximateTotal")).isNotNull();
+        assertThat(firstPage.get("nextCursor")).isNotNull();
+
+        client.get().uri("/api/users?limit=2&after={cursor}", firstPage.get("nextCursor")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].name").isEqualTo("Three")
+                .jsonPath("$.nextCursor").doesNotExist();
+
+        client.get().uri("/api/users?after=not-a-cursor").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void searchUsers_ShouldFilterAndPageWithCursor() {
+        createUser("Alice Adams", "alice.a@test.com", 25);
+        createUser("Alina Brown", "alina@test.com", 35);
+        createUser("Bob Alison", "bob@test.com", 30);
+        createUser("Alice Clark", "alice.c@test.com", 45);
+
+        Map<?, ?> firstPage = client.get().uri("/api/users/search?name=Ali&limit=2").exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        assertThat((List<?>) firstPage.get("items")).hasSize(2);
+        assertThat(firstPage.get("nextCursor")).isNotNull();
+
+        client.get().uri("/api/users/search?name=Ali&limit=2&after={cursor}", firstPage.get("nextCursor")).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].name").isEqualTo("Alice Clark")
+                .jsonPath("$.nextCursor").doesNotExist();
+
+        client.get().uri("/api/users/search?name=Ali&minAge=30&maxAge=40").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].name").isEqualTo("Alina Brown");
+
+        client.get().uri("/api/users/search?createdFrom=2000-01-01T00:00:00&createdTo=2001-01-01T00:00:00").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items.length()").isEqualTo(0);
+
+        client.get().uri("/api/users/search?minAge=-1").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.minAge").isEqualTo("Age cannot be negative");
+    }
+
+    @Test
+    void exportUsers_ShouldStreamNdjson() {
+        createUser("One", "export1@test.com", 1);
+        createUser("Two", "export2@test.com", 2);
+
+        String body = client.get().uri("/api/users/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(body.lines().toList()).hasSize(2)
+                .anySatisfy(line -> assertThat(line).contains("\"email\":\"export1@test.com\""));
+    }
+
+    @Test
+    void batchCreate_ShouldReportPerItemResults() {
+        createUser("Existing", "existing@test.com", 30);
+
+        client.post().uri("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        Map.of("name", "New", "email", "new@test.com", "age", 20),
+                        Map.of("name", "Clash", "email", "existing@test.com", "age", 21),
+                        Map.of("name", "", "email", "invalid@test.com", "age", 22)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.conflicts").isEqualTo(1)
+                .jsonPath("$.invalid").isEqualTo(1)
+                .jsonPath("$.results[0].status").isEqualTo("CREATED");
+    }
+
+    @Test
+    void conditionalGet_ShouldAnswerNotModifiedWithoutBody() {
+        Number id = createUser("Cached", "etag@test.com", 30);
+        String etag = "\"" + id + ".0\"";
+
+        client.get().uri("/api/users/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        client.get().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+
+        client.patch().uri("/api/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("age", 31))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + id + ".1\"");
+
+        client.get().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + id + ".1\"")
+                .expectBody().jsonPath("$.age").isEqualTo(31);
+    }
+
+    @Test
+    void conditionalWrites_ShouldHonorIfMatch() {
+        Number id = createUser("Writer", "writer@test.com", 30);
+        String original = "\"" + id + ".0\"";
+
+        client.put().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_MATCH, original)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "First", "email", "writer@test.com", "age", 31))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + id + ".1\"");
+
+        client.put().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_MATCH, original)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Lost Update", "email", "writer@test.com", "age", 32))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody().jsonPath("$.status").isEqualTo(412);
+
+        client.patch().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "W/\"" + id + ".1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("age", 33))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        client.delete().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_MATCH, original)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        client.delete().uri("/api/users/{id}", id)
+                .header(HttpHeaders.IF_MATCH, "\"" + id + ".1\"")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        client.get().uri("/api/users/{id}", id).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private Number createUser(String name, String email, int age) {
+        Map<?, ?> created = client.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", name, "email", email, "age", age))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class).returnResult().getResponseBody();
+        return (Number) created.get("id");
+    }
+}
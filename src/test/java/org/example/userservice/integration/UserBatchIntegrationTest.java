@@ -0,0 +1,127 @@
+package org.example.userservice.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.entity.User;
+import org.example.userservice.index.EmailFilter;
+import org.example.userservice.repository.UserRepository;
+import org.example.userservice.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserBatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmailFilter emailFilter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createUsers_ShouldInsertInJdbcBatches() {
+        int size = 200;
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            requests.add(new UserRequest("Batch User " + i, "batch" + i + "@test.com", 20 + i % 50));
+        }
+
+        BatchCreateResponse response = userService.createUsers(requests);
+
+        assertEquals(size, response.getCreated());
+        assertEquals(size, statistics.getEntityInsertCount());
+        // One statement per JDBC batch of 50 plus a handful of sequence calls and the email
+        // lookup; row-by-row inserts would need at least one statement per user.
+        assertTrue(statistics.getPrepareStatementCount() <= 12,
+                "Expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(size, userRepository.count());
+    }
+
+    @Test
+    void createUsers_ShouldReportConflictsAgainstExistingRows() throws Exception {
+        // Written behind the service's back, as another instance would; the filter has not seen it.
+        emailFilter.rebuild();
+        userRepository.save(new User("Existing User", "existing@test.com", 30));
+        long wrongMisses = emailFilter.stats().getWrongMisses();
+
+        String batchJson = """
+            [
+                {"name": "New User", "email": "new@test.com", "age": 25},
+                {"name": "Existing Again", "email": "existing@test.com", "age": 35},
+                {"name": "", "email": "bad-email", "age": 20}
+            ]
+            """;
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.conflicts", is(1)))
+                .andExpect(jsonPath("$.invalid", is(1)))
+                .andExpect(jsonPath("$.results[0].user.id", notNullValue()))
+                .andExpect(jsonPath("$.results[1].status", is("CONFLICT")))
+                .andExpect(jsonPath("$.results[2].status", is("INVALID")));
+
+        assertEquals(2, userRepository.count());
+        assertEquals(wrongMisses + 1, emailFilter.stats().getWrongMisses());
+    }
+
+    @Test
+    void getUserByEmail_ForUserTheFilterHasNotSeen_ShouldStillBeFound() throws Exception {
+        emailFilter.rebuild();
+        // Written behind the service's back, as another instance or plain SQL would.
+        userRepository.save(new User("Elsewhere User", "elsewhere@test.com", 30));
+        assertFalse(emailFilter.mightContain("elsewhere@test.com"));
+
+        mockMvc.perform(get("/api/users/email/elsewhere@test.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Elsewhere User")));
+        mockMvc.perform(get("/api/users/email/unknown@test.com"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.userservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.userservice.ingest.UserIngestQueue;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.users.ingest.enabled=true",
+        "app.users.ingest.batch-size=25",
+        "app.users.ingest.max-delay=50ms"
+})
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserIngestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserIngestQueue ingestQueue;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCreates_ShouldBeCommittedInSharedBatches() throws Exception {
+        int size = 50;
+        long batchesBefore = ingestQueue.stats().getBatches();
+        ExecutorService executor = Executors.newFixedThreadPool(size);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                String json = "{\"name\": \"Burst " + i + "\", \"email\": \"burst" + i + "@test.com\", \"age\": 30}";
+                results.add(executor.submit(() -> mockMvc.perform(post("/api/users")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                        .andExpect(status().isCreated())
+                        .andExpect(header().exists("ETag"))
+                        .andReturn()));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<MvcResult> result : results) {
+                ids.add(objectMapper.readTree(result.get().getResponse().getContentAsString()).get("id").asLong());
+            }
+            assertEquals(size, ids.size());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(size, userRepository.count());
+        // One transaction per user would commit 50 times.
+        long batches = ingestQueue.stats().getBatches() - batchesBefore;
+        assertTrue(batches < size / 2, "Expected creates to share batches but saw " + batches + " batches");
+    }
+
+    @Test
+    void ingestUser_ShouldAnswerAcceptedAndReportOutcome() throws Exception {
+        MvcResult accepted = mockMvc.perform(post("/api/users/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Async User\", \"email\": \"async@test.com\", \"age\": 30}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/users/ingest/")))
+                .andExpect(jsonPath("$.state", is("PENDING")))
+                .andReturn();
+        String location = accepted.getResponse().getHeader("Location");
+
+        JsonNode status = awaitOutcome(location);
+        assertEquals("CREATED", status.get("state").asText());
+        long id = status.get("user").get("id").asLong();
+        mockMvc.perform(get("/api/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("async@test.com")));
+
+        MvcResult duplicate = mockMvc.perform(post("/api/users/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Again\", \"email\": \"async@test.com\", \"age\": 30}"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        assertEquals("CONFLICT", awaitOutcome(duplicate.getResponse().getHeader("Location")).get("state").asText());
+
+        mockMvc.perform(get("/api/users/ingest/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitOutcome(String location) throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            JsonNode status = objectMapper.readTree(mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"PENDING".equals(status.get("state").asText())) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Create behind " + location + " never finished");
+        return null;
+    }
+}
@@ -75,4 +75,76 @@ class UserIntegrationTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.message", containsString("already exists")));
     }
+
+    @Test
+    void updateUserToExistingEmail_ShouldReturnConflict() throws Exception {
+        userRepository.save(new User("First User", "first@test.com", 30));
+        User second = userRepository.save(new User("Second User", "second@test.com", 31));
+
+        String updateJson = """
+            {
+                "name": "Second User",
+                "email": "first@test.com",
+                "age": 31
+            }
+            """;
+
+        mockMvc.perform(put("/api/users/" + second.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateJson))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("already exists")));
+    }
+
+    @Test
+    void patchUser_ShouldOnlyChangeProvidedFields() throws Exception {
+        User user = userRepository.save(new User("Patch User", "patch@test.com", 30));
+
+        mockMvc.perform(patch("/api/users/" + user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\": 41}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Patch User")))
+                .andExpect(jsonPath("$.email", is("patch@test.com")))
+                .andExpect(jsonPath("$.age", is(41)));
+
+        mockMvc.perform(patch("/api/users/" + user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"patched@test.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("patched@test.com")))
+                .andExpect(jsonPath("$.age", is(41)));
+
+        mockMvc.perform(get("/api/users/email/patched@test.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(user.getId().intValue())));
+    }
+
+    @Test
+    void deleteUsers_ShouldDeleteListedUsersAndIgnoreUnknownIds() throws Exception {
+        User first = userRepository.save(new User("First User", "bulk-first@test.com", 30));
+        User second = userRepository.save(new User("Second User", "bulk-second@test.com", 31));
+        User kept = userRepository.save(new User("Kept User", "bulk-kept@test.com", 32));
+
+        mockMvc.perform(delete("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first.getId() + ", " + second.getId() + ", 999999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(3)))
+                .andExpect(jsonPath("$.deleted", is(2)));
+
+        mockMvc.perform(delete("/api/users/" + first.getId()))
+                .andExpect(status().isNotFound());
+        assertEquals(1, userRepository.count());
+        assertEquals(kept.getId(), userRepository.findAll().get(0).getId());
+    }
+
+    @Test
+    void userCacheStats_ShouldBeExposedThroughActuator() throws Exception {
+        mockMvc.perform(get("/actuator/usercache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount", notNullValue()))
+                .andExpect(jsonPath("$.missCount", notNullValue()))
+                .andExpect(jsonPath("$.evictionCount", notNullValue()));
+    }
 }
@@ -0,0 +1,71 @@
+package org.example.userservice.integration;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        user = userRepository.save(new User("Metrics User", "metrics@test.com", 30));
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeEndpointHistogramsWithTemplatedUris() throws Exception {
+        mockMvc.perform(get("/api/users/{id}", user.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/email/{email}", "metrics@test.com")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{application=\"user-service\",error=\"none\","
+                                + "exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\","
+                                + "uri=\"/api/users/{id}\"")))
+                .andExpect(content().string(containsString("uri=\"/api/users/email/{email}\"")))
+                .andExpect(content().string(not(containsString("metrics@test.com"))))
+                .andExpect(content().string(not(containsString("uri=\"/api/users/" + user.getId() + "\""))));
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeRepositoryPoolAndHibernateMetrics() throws Exception {
+        mockMvc.perform(get("/api/users/{id}", user.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"findResponseById\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("hikaricp_connections_usage_seconds")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hibernate_flushes_total")));
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.userservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.userservice.dto.UserChangeEvent;
+import org.example.userservice.dto.UserChangeType;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.jdbc.StatementCounter;
+import org.example.userservice.jdbc.StatementCounter.Recording;
+import org.example.userservice.outbox.InMemoryUserEventPublisher;
+import org.example.userservice.outbox.OutboxRelay;
+import org.example.userservice.repository.OutboxEventRepository;
+import org.example.userservice.repository.UserRepository;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.example.userservice.jdbc.StatementCounter.StatementKind.INSERT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every committed write leaves exactly one outbox row per user it touched, in the writing
+ * transaction, and the relay hands them to the publisher in order. The scheduled poll is
+ * pushed out of the way so each test drains explicitly. The claim and bulk-delete queries
+ * lock rows, so this test needs H2's own dialect rather than the PostgreSQL one from
+ * application.yml (H2 has no SKIP LOCKED and gets a plain FOR UPDATE).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.users.outbox.enabled=true",
+        "app.users.outbox.batch-size=3",
+        "app.users.outbox.poll-interval=1h"
+})
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserOutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryUserEventPublisher publisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        publisher.clear();
+    }
+
+    @Test
+    void testWritesAreRelayedInOrder() throws Exception {
+        String body = mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"age\":30}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readValue(body, UserResponse.class).getId();
+        mockMvc.perform(put("/api/users/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"John Roe\",\"email\":\"john@example.com\",\"age\":31}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/users/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":32}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/users/{id}", id)).andExpect(status().isNoContent());
+        assertEquals(4, outboxEventRepository.count());
+
+        // Batches of three: one full batch, then a short one that ends the drain.
+        assertEquals(4, outboxRelay.drain());
+
+        List<UserChangeEvent> events = publisher.events();
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.UPDATED, UserChangeType.UPDATED,
+                UserChangeType.DELETED), events.stream().map(UserChangeEvent::getType).toList());
+        assertTrue(events.stream().allMatch(event -> event.getUserId() == id));
+        assertEquals(List.of(0L, 1L, 2L),
+                events.subList(0, 3).stream().map(UserChangeEvent::getUserVersion).toList());
+        UserResponse patched = objectMapper.readValue(events.get(2).getPayload(), UserResponse.class);
+        assertEquals("John Roe", patched.getName());
+        assertEquals(32, patched.getAge());
+        assertNull(events.get(3).getPayload());
+        assertEquals(0, outboxRelay.stats().getPending());
+    }
+
+    @Test
+    void testRolledBackWriteLeavesNoEvent() throws Exception {
+        userService.createUser(new UserRequest("John Doe", "john@example.com", 30));
+
+        mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Doe\",\"email\":\"john@example.com\",\"age\":25}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/users/{id}", 999_999).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Nobody\",\"email\":\"nobody@example.com\",\"age\":25}"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    void testEventInsertsShareTheWriteFlush() throws Exception {
+        // One INSERT batch for the user, one for its event.
+        try (Recording recording = StatementCounter.start()) {
+            mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Jane\",\"email\":\"jane@example.com\",\"age\":25}"))
+                    .andExpect(status().isCreated());
+            assertEquals(2, recording.count(INSERT), recording.summary());
+        }
+
+        StringBuilder users = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            users.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"User ").append(i).append("\",\"email\":\"user").append(i)
+                    .append("@example.com\",\"age\":30}");
+        }
+        try (Recording recording = StatementCounter.start()) {
+            mockMvc.perform(post("/api/users/batch").contentType(MediaType.APPLICATION_JSON).content(users + "]"))
+                    .andExpect(status().isOk());
+            assertEquals(2, recording.count(INSERT), recording.summary());
+        }
+        assertEquals(21, outboxEventRepository.count());
+    }
+
+    @Test
+    void testBulkDeleteRecordsOnlyDeletedUsers() throws Exception {
+        long first = userService.createUser(new UserRequest("A", "a@example.com", 30)).getId();
+        long second = userService.createUser(new UserRequest("B", "b@example.com", 30)).getId();
+        outboxRelay.drain();
+        publisher.clear();
+
+        mockMvc.perform(delete("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first + "," + second + ",999999]"))
+                .andExpect(status().isOk());
+
+        outboxRelay.drain();
+        List<UserChangeEvent> events = publisher.events();
+        assertEquals(List.of(first, second), events.stream().map(UserChangeEvent::getUserId).sorted().toList());
+        assertTrue(events.stream().allMatch(event -> event.getType() == UserChangeType.DELETED));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.userservice.integration;
+
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.jdbc.StatementCounter;
+import org.example.userservice.jdbc.StatementCounter.Recording;
+import org.example.userservice.repository.UserRepository;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.example.userservice.jdbc.StatementCounter.StatementKind.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the statements each endpoint costs, so an extra lookup or a per-row query shows up
+ * as a failing count. The lookup cache is off so reads always reach the database. Sequence
+ * fetches count as OTHER and are not asserted: they happen once per allocation block.
+ */
+@SpringBootTest(properties = "app.users.cache.enabled=false")
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        id = userService.createUser(new UserRequest("John Doe", "john@example.com", 30)).getId();
+    }
+
+    @Test
+    void testCreateIsASingleInsert() throws Exception {
+        // The email filter has never seen the address, so no existence check runs.
+        assertStatements(post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane\",\"email\":\"jane@example.com\",\"age\":25}"),
+                status().isCreated(), 0, 1, 0, 0);
+    }
+
+    @Test
+    void testBatchCreateIsOneInsertBatch() throws Exception {
+        StringBuilder users = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            users.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"User ").append(i).append("\",\"email\":\"user").append(i)
+                    .append("@example.com\",\"age\":30}");
+        }
+        // The filter is only a hint for batches: one existence check covers every email.
+        assertStatements(post("/api/users/batch").contentType(MediaType.APPLICATION_JSON).content(users + "]"),
+                status().isOk(), 1, 1, 0, 0);
+    }
+
+    @Test
+    void testLookupsAreOneSelect() throws Exception {
+        assertStatements(get("/api/users/{id}", id), status().isOk(), 1, 0, 0, 0);
+        assertStatements(get("/api/users/email/{email}", "john@example.com"), status().isOk(), 1, 0, 0, 0);
+        assertStatements(get("/api/users/{id}", id + 1000), status().isNotFound(), 1, 0, 0, 0);
+        assertStatements(get("/api/users").param("limit", "10"), status().isOk(), 1, 0, 0, 0);
+    }
+
+    @Test
+    void testUpdatesAreOneUpdateAndOneReload() throws Exception {
+        assertStatements(put("/api/users/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"John Roe\",\"email\":\"john@example.com\",\"age\":31}"),
+                status().isOk(), 1, 0, 1, 0);
+        assertStatements(patch("/api/users/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":32}"),
+                status().isOk(), 1, 0, 1, 0);
+        // The email-keeping UPDATE matches nothing, then the email-changing one runs.
+        assertStatements(put("/api/users/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"John Roe\",\"email\":\"roe@example.com\",\"age\":31}"),
+                status().isOk(), 1, 0, 2, 0);
+    }
+
+    @Test
+    void testDeleteIsASingleDelete() throws Exception {
+        assertStatements(delete("/api/users/{id}", id), status().isNoContent(), 0, 0, 0, 1);
+    }
+
+    @Test
+    void testRepeatedSelectsAreReported() throws Exception {
+        try (Recording recording = StatementCounter.start()) {
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(get("/api/users/{id}", id)).andExpect(status().isOk());
+            }
+            assertEquals(1, recording.repeated(SELECT).size());
+            assertEquals(3, recording.repeated(SELECT).values().iterator().next());
+        }
+    }
+
+    private void assertStatements(RequestBuilder request, ResultMatcher expectedStatus,
+                                  int selects, int inserts, int updates, int deletes) throws Exception {
+        try (Recording recording = StatementCounter.start()) {
+            mockMvc.perform(request).andExpect(expectedStatus);
+
+            String summary = recording.summary();
+            assertEquals(selects, recording.count(SELECT), summary);
+            assertEquals(inserts, recording.count(INSERT), summary);
+            assertEquals(updates, recording.count(UPDATE), summary);
+            assertEquals(deletes, recording.count(DELETE), summary);
+            assertTrue(recording.repeated(SELECT).isEmpty(), () -> "N+1: " + recording.repeated(SELECT));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.userservice.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.repository.UserRepository;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserWireFormatIntegrationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cborReader = new CBORMapper();
+    private final ObjectMapper smileReader = new SmileMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserResponse user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        user = userService.createUser(new UserRequest("Wire User", "wire@test.com", 30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUser_ShouldDefaultToJsonWithIsoTimestamp() throws Exception {
+        mockMvc.perform(get("/api/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.createdAt").isString());
+    }
+
+    @Test
+    void getUser_AsCbor_ShouldUseEpochMillis() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/users/{id}", user.getId()).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tree = cborReader.readTree(body);
+        assertEquals("wire@test.com", tree.get("email").asText());
+        assertTrue(tree.get("createdAt").isIntegralNumber());
+        assertEquals(user.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                tree.get("createdAt").asLong());
+    }
+
+    @Test
+    void listAndErrors_AsSmile() throws Exception {
+        byte[] page = mockMvc.perform(get("/api/users").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode items = smileReader.readTree(page).get("items");
+        assertEquals(1, items.size());
+        assertTrue(items.get(0).get("createdAt").isIntegralNumber());
+
+        byte[] error = mockMvc.perform(get("/api/users/999999").accept(SMILE))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(404, smileReader.readTree(error).get("status").asInt());
+    }
+
+    @Test
+    void createUser_FromCborBody() throws Exception {
+        byte[] request = cborReader.writeValueAsBytes(Map.of("name", "Cbor User", "email", "cbor@test.com", "age", 41));
+
+        byte[] body = mockMvc.perform(post("/api/users").contentType(CBOR).accept(CBOR).content(request))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("cbor@test.com", cborReader.readTree(body).get("email").asText());
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.userservice.jdbc;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Boots the prod profile (asynchronous Log4j2 configuration, slow-query listener) against H2,
+ * with a zero threshold so every statement counts as slow.
+ */
+@SpringBootTest(properties = "app.sql.slow-query.threshold=0ms")
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class ProdLoggingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SlowQueryListener slowQueryListener;
+
+    @Test
+    void testStatementsGoThroughTheSlowQueryListener() throws Exception {
+        assertInstanceOf(ProxyDataSource.class, dataSource);
+        long before = slowQueryListener.getSlowQueries();
+
+        mockMvc.perform(get("/api/users/{id}", 424242))
+                .andExpect(status().isNotFound());
+
+        assertTrue(slowQueryListener.getSlowQueries() > before);
+    }
+}
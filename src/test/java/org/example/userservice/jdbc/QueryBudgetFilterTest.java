@@ -0,0 +1,50 @@
+package org.example.userservice.jdbc;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryBudgetFilterTest {
+
+    private final StatementCounter counter = new StatementCounter();
+    private final QueryBudgetFilter filter = new QueryBudgetFilter(2);
+
+    @Test
+    void requestOverBudget_ShouldCompleteAndCloseItsRecording() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try (StatementCounter.Recording outer = StatementCounter.start()) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), response,
+                    new MockFilterChain(servletRunning(5)));
+            run("select 1");
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(outer.total()).isEqualTo(6);
+        }
+    }
+
+    private HttpServlet servletRunning(int statements) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                for (int i = 0; i < statements; i++) {
+                    run("select * from users where id=?");
+                }
+            }
+        };
+    }
+
+    private void run(String sql) {
+        counter.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+    }
+}
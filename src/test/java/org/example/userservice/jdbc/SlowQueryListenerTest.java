@@ -0,0 +1,81 @@
+package org.example.userservice.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryListenerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void testOnlyStatementsOverTheThresholdCount() {
+        SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 5, true, now::get);
+
+        listener.afterQuery(execution(99), List.of(query()));
+        listener.afterQuery(execution(100), List.of(query()));
+
+        assertEquals(1, listener.getSlowQueries());
+        assertEquals(1, listener.getLoggedQueries());
+    }
+
+    @Test
+    void testLogsAtMostMaxPerSecond() {
+        SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 2, true, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            listener.afterQuery(execution(150), List.of(query()));
+        }
+        assertEquals(5, listener.getSlowQueries());
+        assertEquals(2, listener.getLoggedQueries());
+
+        now.addAndGet(1000);
+        listener.afterQuery(execution(150), List.of(query()));
+        assertEquals(3, listener.getLoggedQueries());
+    }
+
+    @Test
+    void testBindValuesAreRedactedByDefault() {
+        SlowQueryListener redacting = new SlowQueryListener(Duration.ofMillis(100), 5, true, now::get);
+        SlowQueryListener plain = new SlowQueryListener(Duration.ofMillis(100), 5, false, now::get);
+
+        assertEquals("select * from users where email=? and age=? and name=? [String, Integer, null]",
+                redacting.describe(List.of(query())));
+        assertEquals("select * from users where email=? and age=? and name=? [john@example.com, 30, null]",
+                plain.describe(List.of(query())));
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setSuccess(true);
+        return execution;
+    }
+
+    private static QueryInfo query() {
+        QueryInfo query = new QueryInfo("select * from users where email=? and age=? and name=?");
+        query.setParametersList(List.of(List.of(
+                set("setString", 1, "john@example.com"),
+                set("setInt", 2, 30),
+                set("setNull", 3, java.sql.Types.VARCHAR))));
+        return query;
+    }
+
+    private static ParameterSetOperation set(String method, int index, Object value) {
+        try {
+            Class<?> type = value instanceof String ? String.class : int.class;
+            return new ParameterSetOperation(PreparedStatement.class.getMethod(method, int.class, type),
+                    new Object[]{index, value});
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.userservice.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.example.userservice.jdbc.StatementCounter.Recording;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.example.userservice.jdbc.StatementCounter.StatementKind.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCounterTest {
+
+    private final StatementCounter counter = new StatementCounter();
+
+    @Test
+    void testCountsByKindOnlyWhileRecording() {
+        run("select 1");
+        try (Recording recording = StatementCounter.start()) {
+            run("select * from users where id=?");
+            run("\n    insert into users (name) values (?)");
+            run("UPDATE users set age=? where id=?");
+            run("delete from users where id=?");
+            run("with t as (select 1) select * from t");
+            run("select next value for users_seq");
+
+            assertEquals(2, recording.count(SELECT));
+            assertEquals(1, recording.count(INSERT));
+            assertEquals(1, recording.count(UPDATE));
+            assertEquals(1, recording.count(DELETE));
+            assertEquals(1, recording.count(OTHER));
+            assertEquals(6, recording.total());
+            assertEquals("2 select, 1 insert, 1 update, 1 delete, 1 other", recording.summary());
+        }
+    }
+
+    @Test
+    void testRepeatedStatementsAreReportedByKind() {
+        try (Recording recording = StatementCounter.start()) {
+            for (int i = 0; i < 3; i++) {
+                run("select * from users where id=?");
+                run("update users set age=? where id=?");
+            }
+            run("select count(*) from users");
+
+            assertEquals(Map.of("select * from users where id=?", 3), recording.repeated(SELECT));
+            assertEquals(Map.of("update users set age=? where id=?", 3), recording.repeated(UPDATE));
+        }
+    }
+
+    @Test
+    void testNestedRecordingsBothCount() {
+        try (Recording outer = StatementCounter.start()) {
+            run("select 1");
+            try (Recording inner = StatementCounter.start()) {
+                run("select 2");
+                assertEquals(1, inner.total());
+            }
+            run("select 3");
+            assertEquals(3, outer.total());
+        }
+        try (Recording next = StatementCounter.start()) {
+            assertEquals(0, next.total());
+        }
+    }
+
+    @Test
+    void testClosingOutOfOrderFails() {
+        Recording outer = StatementCounter.start();
+        Recording inner = StatementCounter.start();
+        assertThrows(IllegalStateException.class, outer::close);
+        inner.close();
+    }
+
+    private void run(String sql) {
+        counter.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.userservice.outbox;
+
+import org.example.userservice.dto.UserChangeEvent;
+import org.example.userservice.dto.UserChangeType;
+import org.example.userservice.entity.OutboxEvent;
+import org.example.userservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryUserEventPublisher publisher = new InMemoryUserEventPublisher(100);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testDrainPublishesFullBatchesUntilAShortOne() {
+        when(outboxEventRepository.claimOldest(Limit.of(2)))
+                .thenReturn(events(1, 2))
+                .thenReturn(events(3, 4))
+                .thenReturn(events(5));
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, transactionTemplate, publisher, true, 2, 20);
+
+        assertEquals(5, relay.drain());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                publisher.events().stream().map(UserChangeEvent::getEventId).toList());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L, 4L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(5L));
+        verify(transactionTemplate, times(3)).execute(any());
+        assertEquals(3, relay.stats().getBatches());
+        assertEquals(5, relay.stats().getPublished());
+    }
+
+    @Test
+    void testDrainStopsAtBatchLimit() {
+        when(outboxEventRepository.claimOldest(Limit.of(1)))
+                .thenReturn(events(1))
+                .thenReturn(events(2))
+                .thenReturn(events(3));
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, transactionTemplate, publisher, true, 1, 2);
+
+        assertEquals(2, relay.drain());
+        verify(outboxEventRepository, times(2)).claimOldest(any());
+    }
+
+    @Test
+    void testPublisherFailureKeepsTheBatch() {
+        when(outboxEventRepository.claimOldest(any())).thenReturn(events(1, 2));
+        UserEventPublisher failing = events -> {
+            throw new IllegalStateException("broker down");
+        };
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, transactionTemplate, failing, true, 10, 20);
+
+        assertEquals(0, relay.drain());
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+        assertEquals(1, relay.stats().getFailures());
+        assertEquals(0, relay.stats().getPublished());
+    }
+
+    @Test
+    void testDisabledRelayDoesNothing() {
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, transactionTemplate, publisher, false, 10, 20);
+
+        assertEquals(0, relay.drain());
+        assertFalse(relay.stats().isEnabled());
+        verifyNoInteractions(outboxEventRepository, transactionTemplate);
+    }
+
+    @Test
+    void testInMemoryPublisherKeepsMostRecentEvents() {
+        InMemoryUserEventPublisher small = new InMemoryUserEventPublisher(2);
+        List<UserChangeEvent> batch = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            batch.add(new UserChangeEvent(id, UserChangeType.DELETED, id, null, null, null));
+        }
+
+        small.publish(batch);
+
+        assertEquals(List.of(2L, 3L), small.events().stream().map(UserChangeEvent::getEventId).toList());
+        small.clear();
+        assertTrue(small.events().isEmpty());
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (long id : ids) {
+            OutboxEvent event = new OutboxEvent(100 + id, UserChangeType.UPDATED, 1L, "{}");
+            event.setId(id);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(UserCountEstimator.class)
+class UserCountEstimatorTest {
+
+    @Autowired
+    private UserCountEstimator userCountEstimator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testEstimateUserCountReadsTableStatistics() {
+        userRepository.saveAndFlush(new User("John Doe", "john@example.com", 30));
+
+        Long estimate = userCountEstimator.estimateUserCount();
+
+        assertNotNull(estimate);
+        assertTrue(estimate >= 0);
+    }
+}
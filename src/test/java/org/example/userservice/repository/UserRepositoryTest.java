@@ -1,12 +1,15 @@
 package org.example.userservice.repository;
 
+import org.example.userservice.dto.UserResponse;
 import org.example.userservice.entity.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -110,7 +113,7 @@ class UserRepositoryTest {
         User user2 = new User("Jane Smith", "duplicate@example.com", 25);
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            userRepository.save(user2);
+            userRepository.saveAndFlush(user2);
         });
     }
 
@@ -129,6 +132,89 @@ class UserRepositoryTest {
         assertEquals("update@example.com", updatedUser.getEmail());
     }
 
+    @Test
+    void testUpdateIfEmailUnchanged() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "keep@example.com", 30));
+
+        assertEquals(1, userRepository.updateIfEmailUnchanged(savedUser.getId(), null, "keep@example.com", "John Updated", null));
+        assertEquals(0, userRepository.updateIfEmailUnchanged(savedUser.getId(), null, "other@example.com", "Ignored", 50));
+        assertEquals(0, userRepository.updateIfEmailUnchanged(999L, null, "keep@example.com", "Ignored", 50));
+
+        UserResponse reloaded = userRepository.findResponseById(savedUser.getId()).orElseThrow();
+        assertEquals("John Updated", reloaded.getName());
+        assertEquals("keep@example.com", reloaded.getEmail());
+        assertNull(reloaded.getAge());
+    }
+
+    @Test
+    void testUpdateWithEmail() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "before@example.com", 30));
+
+        assertEquals(1, userRepository.update(savedUser.getId(), null, "John Updated", "after@example.com", 31));
+        assertEquals(0, userRepository.update(999L, null, "Nobody", "nobody@example.com", 31));
+
+        UserResponse reloaded = userRepository.findResponseById(savedUser.getId()).orElseThrow();
+        assertEquals("after@example.com", reloaded.getEmail());
+        assertEquals(31, reloaded.getAge());
+    }
+
+    @Test
+    void testUpdateToTakenEmail_ShouldViolateUniqueConstraint() {
+        userRepository.saveAndFlush(new User("Jane Smith", "taken@example.com", 25));
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "john@example.com", 30));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.update(savedUser.getId(), null, "John Doe", "taken@example.com", 30));
+    }
+
+    @Test
+    void testPatchKeepsFieldsThatAreNull() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "patch@example.com", 30));
+
+        assertEquals(1, userRepository.patch(savedUser.getId(), null, null, null, true, 45));
+        assertEquals(1, userRepository.patchIfEmailUnchanged(savedUser.getId(), null, "patch@example.com",
+                "John Patched", false, null));
+        assertEquals(0, userRepository.patchIfEmailUnchanged(savedUser.getId(), null, "new@example.com",
+                "Ignored", false, null));
+
+        UserResponse reloaded = userRepository.findResponseById(savedUser.getId()).orElseThrow();
+        assertEquals("John Patched", reloaded.getName());
+        assertEquals("patch@example.com", reloaded.getEmail());
+        assertEquals(45, reloaded.getAge());
+    }
+
+    @Test
+    void testPatchClearsAgeSentAsNull() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "clear@example.com", 30));
+
+        assertEquals(1, userRepository.patch(savedUser.getId(), null, null, null, true, null));
+
+        assertNull(userRepository.findResponseById(savedUser.getId()).orElseThrow().getAge());
+    }
+
+    @Test
+    void testUpdatesBumpVersionAndHonorExpectedVersion() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "version@example.com", 30));
+        assertEquals(0L, userRepository.findVersionById(savedUser.getId()).orElseThrow());
+
+        assertEquals(1, userRepository.patch(savedUser.getId(), 0L, "John Updated", null, false, null));
+        assertEquals(0, userRepository.patch(savedUser.getId(), 0L, "Stale Writer", null, false, null));
+        assertEquals(1, userRepository.update(savedUser.getId(), 1L, "John Again", "version@example.com", 31));
+
+        UserResponse reloaded = userRepository.findResponseById(savedUser.getId()).orElseThrow();
+        assertEquals("John Again", reloaded.getName());
+        assertEquals(2L, reloaded.getVersion());
+        assertTrue(userRepository.findVersionById(999L).isEmpty());
+    }
+
+    @Test
+    void testDeleteUserByIdWithStaleVersion() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "stale-delete@example.com", 30));
+
+        assertEquals(0, userRepository.deleteUserById(savedUser.getId(), 5L));
+        assertEquals(1, userRepository.deleteUserById(savedUser.getId(), 0L));
+    }
+
     @Test
     void testDeleteUser() {
         User user = new User("John Doe", "delete@example.com", 30);
@@ -140,6 +226,26 @@ class UserRepositoryTest {
         assertFalse(deletedUser.isPresent());
     }
 
+    @Test
+    void testDeleteUserById() {
+        User savedUser = userRepository.saveAndFlush(new User("John Doe", "single-delete@example.com", 30));
+
+        assertEquals(1, userRepository.deleteUserById(savedUser.getId(), null));
+        assertEquals(0, userRepository.deleteUserById(savedUser.getId(), null));
+        assertFalse(userRepository.findResponseById(savedUser.getId()).isPresent());
+    }
+
+    @Test
+    void testDeleteUsersByIds() {
+        User user1 = userRepository.saveAndFlush(new User("John Doe", "bulk1@example.com", 30));
+        User user2 = userRepository.saveAndFlush(new User("Jane Smith", "bulk2@example.com", 25));
+        User kept = userRepository.saveAndFlush(new User("Kept User", "kept@example.com", 40));
+
+        assertEquals(2, userRepository.deleteUsersByIds(List.of(user1.getId(), user2.getId(), 999L)));
+        assertTrue(userRepository.findResponseById(kept.getId()).isPresent());
+        assertFalse(userRepository.findResponseById(user1.getId()).isPresent());
+    }
+
     @Test
     void testCreatedAtIsAutomaticallySet() {
         User user = new User("Test User", "created@example.com", 30);
@@ -156,4 +262,52 @@ class UserRepositoryTest {
         assertTrue(userRepository.existsByEmail("CaseSensitive@Example.com"));
         assertTrue(userRepository.findByEmail("CaseSensitive@Example.com").isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindResponsesAfterId() {
+        User user1 = userRepository.save(new User("User One", "one@example.com", 20));
+        User user2 = userRepository.save(new User("User Two", "two@example.com", 30));
+        User user3 = userRepository.save(new User("User Three", "three@example.com", 40));
+
+        List<UserResponse> firstPage = userRepository.findResponsesAfterId(0L, Limit.of(2));
+        List<UserResponse> secondPage = userRepository.findResponsesAfterId(user2.getId(), Limit.of(2));
+
+        assertEquals(List.of(user1.getId(), user2.getId()), firstPage.stream().map(UserResponse::getId).toList());
+        assertEquals(List.of(user3.getId()), secondPage.stream().map(UserResponse::getId).toList());
+        assertEquals("User One", firstPage.get(0).getName());
+    }
+
+    @Test
+    void testFindResponseById() {
+        User user = userRepository.save(new User("John Doe", "john@example.com", 30));
+
+        Optional<UserResponse> found = userRepository.findResponseById(user.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals("john@example.com", found.get().getEmail());
+        assertEquals(30, found.get().getAge());
+        assertNotNull(found.get().getCreatedAt());
+        assertFalse(userRepository.findResponseById(999_999L).isPresent());
+    }
+
+    @Test
+    void testFindResponseByEmail() {
+        User user = userRepository.save(new User("John Doe", "john@example.com", 30));
+
+        Optional<UserResponse> found = userRepository.findResponseByEmail("john@example.com");
+
+        assertTrue(found.isPresent());
+        assertEquals(user.getId(), found.get().getId());
+        assertFalse(userRepository.findResponseByEmail("nobody@example.com").isPresent());
+    }
+
+    @Test
+    void testStreamAllResponses() {
+        User user1 = userRepository.save(new User("User One", "one@example.com", 20));
+        User user2 = userRepository.save(new User("User Two", "two@example.com", 30));
+
+        try (Stream<UserResponse> users = userRepository.streamAllResponses()) {
+            assertEquals(List.of(user1.getId(), user2.getId()), users.map(UserResponse::getId).toList());
+        }
+    }
+}
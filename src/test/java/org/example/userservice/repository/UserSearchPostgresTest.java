@@ -0,0 +1,101 @@
+package org.example.userservice.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.repository.UserSearchRepositoryTest.CapturingInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The name-prefix search on PostgreSQL, with the name column under a linguistic (ICU)
+ * collation as production databases have it. A plain btree cannot serve {@code LIKE 'abc%'}
+ * there; the schema script's varchar_pattern_ops index can.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.platform=postgresql",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.example.userservice.repository.UserSearchRepositoryTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserSearchPostgresTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN name TYPE VARCHAR(100) COLLATE \"en-x-icu\"");
+        jdbcTemplate.update("INSERT INTO users (name, email, age, created_at) "
+                + "SELECT CASE WHEN g % 2 = 0 THEN 'Alice ' ELSE 'Bob ' END || g, 'pg' || g || '@example.com', "
+                + "20 + g % 50, now() FROM generate_series(1, 20000) g");
+        jdbcTemplate.execute("ANALYZE users");
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testNamePrefixSearchUsesPatternIndex() {
+        List<UserResponse> found = userRepository.search(
+                new UserSearchCriteria("Alice 1234", null, null, null, null), 0, 51);
+        assertEquals(List.of("Alice 1234", "Alice 12340", "Alice 12342", "Alice 12344", "Alice 12346",
+                "Alice 12348"), found.stream().map(UserResponse::getName).toList());
+
+        String plan = explainLastIdScan(0L, "Alice 1234%", 51);
+
+        assertTrue(plan.contains("idx_users_name_prefix"), plan);
+        assertTrue(plan.contains("~>=~"), plan);
+    }
+
+    /** Explains the last captured id scan with the same bind values, in order. */
+    private String explainLastIdScan(Object... binds) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("fetch first"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            for (int i = 0; i < binds.length; i++) {
+                statement.setObject(i + 1, binds[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.userservice.repository;
+
+import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
+import org.example.userservice.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each search shape through H2's EXPLAIN, using the exact SQL Hibernate generated
+ * for the id scan, to check that the filter is answered from its index rather than by
+ * walking the primary key. H2 says nothing about PostgreSQL's collation rules for the
+ * name prefix; {@link UserSearchPostgresTest} covers that.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.userservice.repository.UserSearchRepositoryTest$CapturingInspector")
+class UserSearchRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 30; i++) {
+            User user = new User((i % 2 == 0 ? "Alice " : "Bob ") + i, "search" + i + "@example.com", 20 + i);
+            user.setCreatedAt(T0.plusDays(i));
+            userRepository.save(user);
+        }
+        userRepository.flush();
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void testSearchCombinesFiltersAndPagesById() {
+        UserSearchCriteria criteria = new UserSearchCriteria("Alice", 24, 40, T0.plusDays(2), T0.plusDays(20));
+
+        List<UserResponse> firstPage = userRepository.search(criteria, 0, 3);
+        assertEquals(List.of("Alice 4", "Alice 6", "Alice 8"), firstPage.stream().map(UserResponse::getName).toList());
+
+        List<UserResponse> rest = userRepository.search(criteria, firstPage.get(2).getId(), 10);
+        assertEquals(List.of("Alice 10", "Alice 12", "Alice 14", "Alice 16", "Alice 18"),
+                rest.stream().map(UserResponse::getName).toList());
+    }
+
+    @Test
+    void testNamePrefixIsMatchedLiterally() {
+        userRepository.saveAndFlush(new User("50%_off", "literal@example.com", 30));
+
+        assertEquals(1, userRepository.search(new UserSearchCriteria("50%_", null, null, null, null), 0, 10).size());
+        assertTrue(userRepository.search(new UserSearchCriteria("5_", null, null, null, null), 0, 10).isEmpty());
+    }
+
+    @Test
+    void testNamePrefixSearchUsesNameIndex() {
+        userRepository.search(new UserSearchCriteria("Ali", null, null, null, null), 0, 51);
+
+        assertPlanUses("IDX_USERS_NAME_PREFIX", 0L, "Ali%", 51);
+    }
+
+    @Test
+    void testAgeRangeSearchUsesAgeIndex() {
+        userRepository.search(new UserSearchCriteria(null, 25, 30, null, null), 0, 51);
+
+        assertPlanUses("IDX_USERS_AGE", 0L, 25, 30, 51);
+    }
+
+    @Test
+    void testCreatedAtRangeSearchUsesCreatedAtIndex() {
+        userRepository.search(new UserSearchCriteria(null, null, null, T0, T0.plusDays(7)), 0, 51);
+
+        assertPlanUses("IDX_USERS_CREATED_AT", 0L, Timestamp.valueOf(T0), Timestamp.valueOf(T0.plusDays(7)), 51);
+    }
+
+    /** Explains the last captured id scan with the same bind values, in order. */
+    private void assertPlanUses(String index, Object... binds) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("fetch first"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        String plan = jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            assertEquals(binds.length, statement.getParameterMetaData().getParameterCount(), sql);
+            for (int i = 0; i < binds.length; i++) {
+                statement.setObject(i + 1, binds[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+        assertNotNull(plan);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
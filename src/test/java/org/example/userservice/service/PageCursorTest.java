@@ -0,0 +1,30 @@
+package org.example.userservice.service;
+
+import org.example.userservice.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        String cursor = PageCursor.encode(12345L);
+
+        assertFalse(cursor.contains("12345"));
+        assertEquals(12345L, PageCursor.decode(cursor));
+    }
+
+    @Test
+    void testMissingCursorStartsFromBeginning() {
+        assertEquals(0L, PageCursor.decode(null));
+        assertEquals(0L, PageCursor.decode(""));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("Zm9vOjEy"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decode("aWQ6YWJj"));
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.userservice.service;
+
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.userservice.dto.UserPatchRequest;
+import org.example.userservice.dto.UserRequest;
+import org.example.userservice.entity.User;
+import org.example.userservice.entity.UserRecord;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.InvalidCursorException;
+import org.example.userservice.exception.PreconditionFailedException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.repository.ReactiveUserCountEstimator;
+import org.example.userservice.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceTest {
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private ReactiveUserCountEstimator userCountEstimator;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private ReactiveUserService userService;
+
+    @Test
+    void createUser_WithExistingEmail_ShouldFailWithEmailAlreadyExists() {
+        when(userRepository.save(any(UserRecord.class))).thenReturn(Mono.error(emailConstraintViolation()));
+
+        StepVerifier.create(userService.createUser(new UserRequest("John", "taken@example.com", 30)))
+                .expectError(EmailAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void getUserById_WhenMissing_ShouldFailWithUserNotFound() {
+        when(userRepository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.getUserById(1L))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getAllUsers_WhenMoreRowsThanLimit_ShouldReturnCursor() {
+        when(userRepository.findPageAfterId(0L, 3)).thenReturn(Flux.just(record(1L), record(2L), record(3L)));
+
+        StepVerifier.create(userService.getAllUsers(2, null, false))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).hasSize(2);
+                    assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(2L);
+                    assertThat(page.getApproximateTotal()).isNull();
+                })
+                .verifyComplete();
+        verifyNoInteractions(userCountEstimator);
+    }
+
+    @Test
+    void getAllUsers_WithTotal_ShouldUseEstimateNotCount() {
+        when(userRepository.findPageAfterId(0L, 3)).thenReturn(Flux.just(record(1L)));
+        when(userCountEstimator.estimateUserCount()).thenReturn(Mono.just(1200L));
+
+        StepVerifier.create(userService.getAllUsers(2, null, true))
+                .assertNext(page -> assertThat(page.getApproximateTotal()).isEqualTo(1200L))
+                .verifyComplete();
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void getAllUsers_WhenNoEstimate_ShouldLeaveTotalEmpty() {
+        when(userRepository.findPageAfterId(0L, 3)).thenReturn(Flux.just(record(1L)));
+        when(userCountEstimator.estimateUserCount()).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.getAllUsers(2, null, true))
+                .assertNext(page -> assertThat(page.getApproximateTotal()).isNull())
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllUsers_WithMalformedCursor_ShouldFail() {
+        StepVerifier.create(userService.getAllUsers(null, "garbage!", false))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void patchUser_WithoutEmail_ShouldIssueSingleUpdate() {
+        when(userRepository.patch(1L, null, null, null, true, 40)).thenReturn(Mono.just(1));
+        when(userRepository.findById(1L)).thenReturn(Mono.just(record(1L)));
+
+        StepVerifier.create(userService.patchUser(1L, new UserPatchRequest(null, null, 40)))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(userRepository, never()).patchIfEmailUnchanged(any(), any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void deleteUser_WhenNothingDeleted_ShouldFailWithUserNotFound() {
+        when(userRepository.deleteUserById(1L, null)).thenReturn(Mono.just(0));
+        when(userRepository.findVersionById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.deleteUser(1L))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteUser_WithStaleVersion_ShouldFailPrecondition() {
+        when(userRepository.deleteUserById(1L, 2L)).thenReturn(Mono.just(0));
+        when(userRepository.findVersionById(1L)).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(userService.deleteUser(1L, 2L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteUsers_ShouldSumChunkCounts() {
+        when(userRepository.deleteUsersByIds(anyCollection())).thenReturn(Mono.just(2));
+
+        StepVerifier.create(userService.deleteUsers(List.of(1L, 2L, 2L, 3L)))
+                .assertNext(response -> {
+                    assertThat(response.getRequested()).isEqualTo(3);
+                    assertThat(response.getDeleted()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
+
+    private static UserRecord record(Long id) {
+        UserRecord record = new UserRecord("User " + id, "user" + id + "@example.com", 30);
+        record.setId(id);
+        return record;
+    }
+
+    private static DataIntegrityViolationException emailConstraintViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new R2dbcDataIntegrityViolationException(
+                        "Unique index or primary key violation: " + User.EMAIL_CONSTRAINT, "23505"));
+    }
+}
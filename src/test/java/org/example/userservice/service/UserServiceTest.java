@@ -1,20 +1,48 @@
 package org.example.userservice.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.userservice.cache.UserCache;
+import org.example.userservice.cache.UserJsonCache;
+import org.example.userservice.dto.BatchCreateResponse;
+import org.example.userservice.dto.BatchItemStatus;
+import org.example.userservice.dto.BulkDeleteResponse;
+import org.example.userservice.dto.UserPageResponse;
+import org.example.userservice.dto.UserPatchRequest;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
+import org.example.userservice.dto.UserSearchCriteria;
 import org.example.userservice.entity.User;
+import org.example.userservice.index.EmailFilter;
+import org.example.userservice.index.UserSuggestIndex;
+import org.example.userservice.outbox.UserOutbox;
+import org.example.userservice.repository.UserCountEstimator;
 import org.example.userservice.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +50,33 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCountEstimator userCountEstimator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private EmailFilter emailFilter;
+
+    @Mock
+    private UserSuggestIndex suggestIndex;
+
+    @Mock
+    private UserJsonCache userJsonCache;
+
+    @Mock
+    private UserOutbox userOutbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private UserService userService;
 
@@ -36,14 +91,15 @@ class UserServiceTest {
         user.setId(1L);
         user.setCreatedAt(LocalDateTime.now());
 
-        when(userRepository.existsByEmail("john@example.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         UserResponse result = userService.createUser(userRequest);
 
         assertNotNull(result);
-        verify(userRepository).existsByEmail("john@example.com");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(emailFilter).add("john@example.com");
+        verify(userOutbox).created(result);
     }
 
     @Test
@@ -53,101 +109,497 @@ class UserServiceTest {
         userRequest.setEmail("existing@example.com");
         userRequest.setAge(30);
 
-        when(userRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(emailConstraintViolation());
 
         assertThrows(org.example.userservice.exception.EmailAlreadyExistsException.class,
                 () -> userService.createUser(userRequest));
 
-        verify(userRepository).existsByEmail("existing@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).existsByEmail(anyString());
+        verifyNoInteractions(userCache, userOutbox);
+    }
+
+    @Test
+    void createUser_WithOtherIntegrityViolation_ShouldRethrow() {
+        UserRequest userRequest = new UserRequest("John Doe", "john@example.com", 30);
+
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long for column name"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userRequest));
+    }
+
+    @Test
+    void createUsers_ShouldReportCreatedConflictAndInvalidItems() {
+        List<UserRequest> requests = List.of(
+                new UserRequest("New User", "new@example.com", 30),
+                new UserRequest("Existing User", "existing@example.com", 40),
+                new UserRequest("", "not-an-email", -1),
+                new UserRequest("Duplicate", "new@example.com", 20)
+        );
+
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("existing@example.com"));
+
+        BatchCreateResponse result = userService.createUsers(requests);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getConflicts());
+        assertEquals(1, result.getInvalid());
+        assertEquals(BatchItemStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchItemStatus.CONFLICT, result.getResults().get(1).getStatus());
+        assertEquals(BatchItemStatus.INVALID, result.getResults().get(2).getStatus());
+        assertEquals(BatchItemStatus.CONFLICT, result.getResults().get(3).getStatus());
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository).flush();
+        // new@example.com passed the filter but was not in the database.
+        verify(emailFilter).recordFalsePositives(1);
+    }
+
+    @Test
+    void createUsers_ShouldFlushEveryJdbcBatch() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < UserService.JDBC_BATCH_SIZE * 2 + 1; i++) {
+            requests.add(new UserRequest("User " + i, "user" + i + "@example.com", 30));
+        }
+
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+
+        BatchCreateResponse result = userService.createUsers(requests);
+
+        assertEquals(requests.size(), result.getCreated());
+        verify(userRepository, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void createUsers_WhenFilterMissesAnEmail_ShouldStillProbeAndReportConflict() {
+        List<UserRequest> requests = List.of(
+                new UserRequest("User A", "a@example.com", 30),
+                new UserRequest("User B", "b@example.com", 31));
+
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+        // b@example.com was written by another instance, so the filter has never seen it.
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("b@example.com"));
+
+        BatchCreateResponse result = userService.createUsers(requests);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(BatchItemStatus.CONFLICT, result.getResults().get(1).getStatus());
+        verify(userRepository).findExistingEmails(anyCollection());
+        verify(emailFilter).recordWrongMisses(1);
+        verify(emailFilter).add("a@example.com");
+        verify(emailFilter).add("b@example.com");
+        verify(emailFilter, never()).recordFalsePositives(anyLong());
+    }
+
+    @Test
+    void createUsers_WhenBatchTooLarge_ShouldThrowException() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= UserService.MAX_BATCH_SIZE; i++) {
+            requests.add(new UserRequest("User", "user" + i + "@example.com", 30));
+        }
+
+        assertThrows(org.example.userservice.exception.BatchSizeExceededException.class,
+                () -> userService.createUsers(requests));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void getUserById_WhenUserExists_ShouldReturnUserResponse() {
-        User user = new User("John Doe", "john@example.com", 30);
-        user.setId(1L);
-        user.setCreatedAt(LocalDateTime.now());
+        UserResponse user = new UserResponse(1L, "John Doe", "john@example.com", 30, LocalDateTime.now());
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(user));
 
         Object result = userService.getUserById(1L);
 
         assertNotNull(result);
-        verify(userRepository).findById(1L);
+        verify(userRepository).findResponseById(1L);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserById_WhenCached_ShouldNotQueryRepository() {
+        UserResponse cached = new UserResponse(1L, "John Doe", "john@example.com", 30, LocalDateTime.now());
+        when(userCache.getById(1L)).thenReturn(Optional.of(cached));
+
+        UserResponse result = userService.getUserById(1L);
+
+        assertSame(cached, result);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUserById_WhenNotCached_ShouldPopulateCache() {
+        UserResponse user = new UserResponse(1L, "John Doe", "john@example.com", 30, LocalDateTime.now());
+
+        when(userCache.readStamp()).thenReturn(42L);
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(user));
+
+        userService.getUserById(1L);
+
+        verify(userCache).putLoaded(argThat(response -> response.getId().equals(1L)), eq(42L));
     }
 
     @Test
     void getUserById_WhenUserNotExists_ShouldThrowException() {
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
         assertThrows(org.example.userservice.exception.UserNotFoundException.class,
                 () -> userService.getUserById(999L));
-        verify(userRepository).findById(999L);
+        verify(userRepository).findResponseById(999L);
     }
 
     @Test
     void getAllUsers_ShouldReturnUserResponseList() {
-        User user1 = new User("User 1", "user1@example.com", 25);
-        user1.setId(1L);
-        User user2 = new User("User 2", "user2@example.com", 30);
-        user2.setId(2L);
+        UserResponse user1 = new UserResponse(1L, "User 1", "user1@example.com", 25, LocalDateTime.now());
+        UserResponse user2 = new UserResponse(2L, "User 2", "user2@example.com", 30, LocalDateTime.now());
 
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        when(userRepository.findResponsesAfterId(0L, Limit.of(UserService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(user1, user2));
 
-        List<?> result = userService.getAllUsers();
+        UserPageResponse result = userService.getAllUsers(null, null, false);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(userRepository).findAll();
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getNextCursor());
+        assertNull(result.getApproximateTotal());
+        verify(userRepository, never()).findAll();
+        verifyNoInteractions(userCountEstimator);
     }
 
     @Test
-    void updateUser_WithValidData_ShouldReturnUpdatedUser() {
-        User existingUser = new User("Old Name", "old@example.com", 25);
-        existingUser.setId(1L);
+    void getAllUsers_WhenMoreRowsThanLimit_ShouldReturnCursorForNextPage() {
+        UserResponse user1 = new UserResponse(1L, "User 1", "user1@example.com", 25, LocalDateTime.now());
+        UserResponse user2 = new UserResponse(2L, "User 2", "user2@example.com", 30, LocalDateTime.now());
+        UserResponse user3 = new UserResponse(3L, "User 3", "user3@example.com", 35, LocalDateTime.now());
 
-        UserRequest updateRequest = new UserRequest();
-        updateRequest.setName("New Name");
-        updateRequest.setEmail("new@example.com");
-        updateRequest.setAge(30);
+        when(userRepository.findResponsesAfterId(0L, Limit.of(3)))
+                .thenReturn(List.of(user1, user2, user3));
+        when(userRepository.findResponsesAfterId(2L, Limit.of(3)))
+                .thenReturn(List.of(user3));
 
-        User updatedUser = new User("New Name", "new@example.com", 30);
-        updatedUser.setId(1L);
+        UserPageResponse firstPage = userService.getAllUsers(2, null, false);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.existsByEmailAndIdNot("new@example.com", 1L)).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(updatedUser);
+        assertEquals(2, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
 
-        UserResponse result = userService.updateUser(1L, updateRequest);
+        UserPageResponse secondPage = userService.getAllUsers(2, firstPage.getNextCursor(), false);
 
-        assertNotNull(result);
-        verify(userRepository).findById(1L);
-        verify(userRepository).existsByEmailAndIdNot("new@example.com", 1L);
-        verify(userRepository).save(any(User.class));
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(3L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void searchUsers_ShouldPageSearchResultsWithCursor() {
+        UserSearchCriteria criteria = new UserSearchCriteria("Us", 20, null, null, null);
+        UserResponse user1 = new UserResponse(4L, "User 1", "user1@example.com", 25, LocalDateTime.now());
+        UserResponse user2 = new UserResponse(9L, "User 2", "user2@example.com", 30, LocalDateTime.now());
+
+        when(userRepository.search(criteria, 0L, 2)).thenReturn(List.of(user1, user2));
+
+        UserPageResponse page = userService.searchUsers(criteria, 1, null);
+
+        assertEquals(List.of(4L), page.getItems().stream().map(UserResponse::getId).toList());
+        assertEquals(4L, PageCursor.decode(page.getNextCursor()));
+        assertNull(page.getApproximateTotal());
+        verifyNoInteractions(userCountEstimator);
+    }
+
+    @Test
+    void getAllUsers_WithLimitAboveMaximum_ShouldClampPageSize() {
+        when(userRepository.findResponsesAfterId(0L, Limit.of(UserService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        UserPageResponse result = userService.getAllUsers(1_000_000, null, false);
+
+        assertTrue(result.getItems().isEmpty());
+        verify(userRepository).findResponsesAfterId(0L, Limit.of(UserService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getAllUsers_WithIncludeTotal_ShouldUseEstimate() {
+        when(userRepository.findResponsesAfterId(eq(0L), any(Limit.class))).thenReturn(List.of());
+        when(userCountEstimator.estimateUserCount()).thenReturn(42L);
+
+        UserPageResponse result = userService.getAllUsers(10, null, true);
+
+        assertEquals(42L, result.getApproximateTotal());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void getAllUsers_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(org.example.userservice.exception.InvalidCursorException.class,
+                () -> userService.getAllUsers(10, "not-a-cursor", false));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void exportUsers_ShouldStreamEveryUserProjection() {
+        UserResponse user1 = new UserResponse(1L, "User 1", "user1@example.com", 25, LocalDateTime.now());
+        UserResponse user2 = new UserResponse(2L, "User 2", "user2@example.com", 30, LocalDateTime.now());
+
+        when(userRepository.streamAllResponses()).thenReturn(Stream.of(user1, user2));
+
+        List<UserResponse> exported = new ArrayList<>();
+        userService.exportUsers(exported::add);
+
+        assertEquals(List.of(1L, 2L), exported.stream().map(UserResponse::getId).toList());
+        verify(userRepository, never()).findAll();
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void updateUser_WithUnchangedEmail_ShouldIssueSingleUpdate() {
+        UserResponse updated = new UserResponse(1L, "New Name", "same@example.com", 30, LocalDateTime.now());
+        when(userRepository.updateIfEmailUnchanged(1L, null, "same@example.com", "New Name", 30)).thenReturn(1);
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(updated));
+
+        UserResponse result = userService.updateUser(1L, new UserRequest("New Name", "same@example.com", 30));
+
+        assertEquals("New Name", result.getName());
+        verify(userRepository, never()).update(anyLong(), any(), any(), any(), any());
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verify(userCache).evict(1L);
+        verify(userOutbox).updated(updated);
+        verify(emailFilter, never()).add(anyString());
+        verify(emailFilter, never()).markStale(anyLong());
+    }
+
+    @Test
+    void updateUser_WithChangedEmail_ShouldUpdateEmailAndMarkFilterStale() {
+        UserResponse updated = new UserResponse(1L, "New Name", "new@example.com", 30, LocalDateTime.now());
+        when(userRepository.updateIfEmailUnchanged(1L, null, "new@example.com", "New Name", 30)).thenReturn(0);
+        when(userRepository.update(1L, null, "New Name", "new@example.com", 30)).thenReturn(1);
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(updated));
+
+        UserResponse result = userService.updateUser(1L, new UserRequest("New Name", "new@example.com", 30));
+
+        assertEquals("new@example.com", result.getEmail());
+        verify(userRepository, never()).existsByEmailAndIdNot(anyString(), anyLong());
+        verify(userCache).evict(1L);
+        verify(emailFilter).add("new@example.com");
+        verify(emailFilter).markStale(1);
+    }
+
+    @Test
+    void updateUser_WhenUserNotExists_ShouldThrowException() {
+        when(userRepository.updateIfEmailUnchanged(anyLong(), any(), anyString(), anyString(), any())).thenReturn(0);
+        when(userRepository.update(anyLong(), any(), anyString(), anyString(), any())).thenReturn(0);
+
+        assertThrows(org.example.userservice.exception.UserNotFoundException.class,
+                () -> userService.updateUser(999L, new UserRequest("Name", "name@example.com", 30)));
+        verify(userRepository, never()).findResponseById(anyLong());
+        verify(userCache, never()).evict(anyLong());
+    }
+
+    @Test
+    void updateUser_WithEmailTakenByAnotherUser_ShouldThrowException() {
+        when(userRepository.updateIfEmailUnchanged(anyLong(), any(), anyString(), anyString(), any())).thenReturn(0);
+        when(userRepository.update(1L, null, "New Name", "taken@example.com", 30)).thenThrow(emailConstraintViolation());
+
+        assertThrows(org.example.userservice.exception.EmailAlreadyExistsException.class,
+                () -> userService.updateUser(1L, new UserRequest("New Name", "taken@example.com", 30)));
+        verify(userCache, never()).evict(anyLong());
+    }
+
+    @Test
+    void updateUser_WithStaleVersion_ShouldFailPrecondition() {
+        when(userRepository.updateIfEmailUnchanged(1L, 3L, "same@example.com", "New Name", 30)).thenReturn(0);
+        when(userRepository.update(1L, 3L, "New Name", "same@example.com", 30)).thenReturn(0);
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        assertThrows(org.example.userservice.exception.PreconditionFailedException.class,
+                () -> userService.updateUser(1L, new UserRequest("New Name", "same@example.com", 30), 3L));
+        verify(userRepository, never()).findResponseById(anyLong());
+        verify(userCache, never()).evict(anyLong());
+    }
+
+    @Test
+    void patchUser_WithoutEmail_ShouldIssueSingleUpdate() {
+        UserResponse patched = new UserResponse(1L, "Old Name", "old@example.com", 40, LocalDateTime.now());
+        when(userRepository.patch(1L, null, null, null, true, 40)).thenReturn(1);
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(patched));
+
+        UserResponse result = userService.patchUser(1L, new UserPatchRequest(null, null, 40));
+
+        assertEquals(40, result.getAge());
+        verify(userRepository, never()).patchIfEmailUnchanged(anyLong(), any(), any(), any(), anyBoolean(), any());
+        verify(userCache).evict(1L);
+        verifyNoInteractions(emailFilter);
+    }
+
+    @Test
+    void patchUser_WithChangedEmail_ShouldFallBackToEmailUpdate() {
+        UserResponse patched = new UserResponse(1L, "Old Name", "new@example.com", 25, LocalDateTime.now());
+        when(userRepository.patchIfEmailUnchanged(1L, null, "new@example.com", null, false, null)).thenReturn(0);
+        when(userRepository.patch(1L, null, null, "new@example.com", false, null)).thenReturn(1);
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.of(patched));
+
+        UserResponse result = userService.patchUser(1L, new UserPatchRequest(null, "new@example.com", null));
+
+        assertEquals("new@example.com", result.getEmail());
+        verify(emailFilter).add("new@example.com");
+        verify(emailFilter).markStale(1);
+    }
+
+    @Test
+    void patchUser_WhenUserNotExists_ShouldThrowException() {
+        when(userRepository.patch(999L, null, "Name", null, false, null)).thenReturn(0);
+
+        assertThrows(org.example.userservice.exception.UserNotFoundException.class,
+                () -> userService.patchUser(999L, new UserPatchRequest("Name", null, null)));
+        verify(userCache, never()).evict(anyLong());
     }
 
     @Test
     void deleteUser_WhenUserExists_ShouldDeleteUser() {
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        when(userRepository.deleteUserById(1L, null)).thenReturn(1);
         userService.deleteUser(1L);
-        verify(userRepository).existsById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).deleteUserById(1L, null);
+        verify(userRepository, never()).existsById(anyLong());
+        verify(userRepository, never()).deleteById(anyLong());
+        verify(userCache).evict(1L);
+        verify(userJsonCache).evict(1L);
+        verify(suggestIndex).remove(1L);
+        verify(emailFilter).markStale(1);
+        verify(userOutbox).deleted(List.of(1L));
+    }
+
+    @Test
+    void deleteUser_WhenUserNotExists_ShouldThrowException() {
+        when(userRepository.deleteUserById(999L, null)).thenReturn(0);
+        assertThrows(org.example.userservice.exception.UserNotFoundException.class,
+                () -> userService.deleteUser(999L));
+        verify(userCache, never()).evict(anyLong());
+        verify(emailFilter, never()).markStale(anyLong());
+    }
+
+    @Test
+    void deleteUser_WithStaleVersion_ShouldFailPrecondition() {
+        when(userRepository.deleteUserById(1L, 2L)).thenReturn(0);
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        assertThrows(org.example.userservice.exception.PreconditionFailedException.class,
+                () -> userService.deleteUser(1L, 2L));
+        verify(userCache, never()).evict(anyLong());
+    }
+
+    @Test
+    void getUserVersion_WhenCached_ShouldNotQueryRepository() {
+        UserResponse cached = new UserResponse(1L, "Cached", "cached@example.com", 30, LocalDateTime.now(), 7L);
+        when(userCache.getById(1L)).thenReturn(Optional.of(cached));
+
+        assertEquals(7L, userService.getUserVersion(1L));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUserVersion_WhenNotCached_ShouldReadVersionOnly() {
+        when(userCache.getById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertEquals(2L, userService.getUserVersion(1L));
+        verify(userRepository, never()).findResponseById(anyLong());
+    }
+
+    @Test
+    void suggestUsers_ShouldClampLimitAndUseIndexOnly() {
+        when(suggestIndex.suggest("jo", UserService.MAX_SUGGEST_LIMIT)).thenReturn(List.of());
+
+        userService.suggestUsers("jo", 1_000);
+        userService.suggestUsers("jo", null);
+
+        verify(suggestIndex).suggest("jo", UserService.DEFAULT_SUGGEST_LIMIT);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void deleteUsers_ShouldDeleteDistinctIdsInChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= UserService.DELETE_CHUNK_SIZE + 10; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        ids.add(null);
+        when(userRepository.deleteUsersByIds(anyCollection())).thenReturn(UserService.DELETE_CHUNK_SIZE, 5);
+
+        BulkDeleteResponse response = userService.deleteUsers(ids);
+
+        assertEquals(UserService.DELETE_CHUNK_SIZE + 10, response.getRequested());
+        assertEquals(UserService.DELETE_CHUNK_SIZE + 5, response.getDeleted());
+        verify(userRepository, times(2)).deleteUsersByIds(anyCollection());
+        verify(userCache).evict(1L);
+        verify(emailFilter).markStale(UserService.DELETE_CHUNK_SIZE);
+        verify(emailFilter).markStale(5);
+    }
+
+    @Test
+    void deleteUsers_WithOutbox_ShouldRecordOnlyExistingIds() {
+        when(userOutbox.isEnabled()).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+        when(userRepository.deleteUsersByIds(List.of(1L, 3L))).thenReturn(2);
+
+        BulkDeleteResponse response = userService.deleteUsers(List.of(1L, 2L, 3L));
+
+        assertEquals(2, response.getDeleted());
+        verify(userOutbox).deleted(List.of(1L, 3L));
+        verify(userCache).evict(2L);
+    }
+
+    @Test
+    void deleteUsers_WhenTooManyIds_ShouldThrowException() {
+        List<Long> ids = Collections.nCopies(UserService.MAX_BULK_DELETE_SIZE + 1, 1L);
+        assertThrows(org.example.userservice.exception.BatchSizeExceededException.class,
+                () -> userService.deleteUsers(ids));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUserByEmail_WhenCached_ShouldNotQueryRepository() {
+        UserResponse cached = new UserResponse(1L, "John Doe", "john@example.com", 30, LocalDateTime.now());
+        when(userCache.getByEmail("john@example.com")).thenReturn(Optional.of(cached));
+
+        UserResponse result = userService.getUserByEmail("john@example.com");
+
+        assertSame(cached, result);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void getUserByEmail_WhenUserExists_ShouldReturnUserResponse() {
 
-        User user = new User("John Doe", "john@example.com", 30);
-        user.setId(1L);
-        user.setCreatedAt(LocalDateTime.now());
+        UserResponse user = new UserResponse(1L, "John Doe", "john@example.com", 30, LocalDateTime.now());
 
-        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findResponseByEmail("john@example.com")).thenReturn(Optional.of(user));
 
         Object result = userService.getUserByEmail("john@example.com");
 
         assertNotNull(result);
-        verify(userRepository).findByEmail("john@example.com");
+        verify(userRepository).findResponseByEmail("john@example.com");
+    }
+
+    @Test
+    void getUserByEmail_WhenNotFound_ShouldAskRepositoryNotFilter() {
+        when(userRepository.findResponseByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(org.example.userservice.exception.UserNotFoundException.class,
+                () -> userService.getUserByEmail("unknown@example.com"));
+        verify(userRepository).findResponseByEmail("unknown@example.com");
+        verifyNoInteractions(emailFilter);
+    }
+
+    private static DataIntegrityViolationException emailConstraintViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new org.hibernate.exception.ConstraintViolationException(
+                        "duplicate key", new java.sql.SQLException("duplicate key", "23505"), User.EMAIL_CONSTRAINT));
     }
 
     private Object createUserRequest(String name, String email, Integer age) {
@@ -0,0 +1,8 @@
+-- The users table as ddl-auto: update created it for the baseline entity (IDENTITY ids,
+-- @Column(unique = true) on email), with rows written by that version.
+create table users (id bigint generated by default as identity, age integer, created_at timestamp(6) not null, email varchar(255) not null, name varchar(100) not null, primary key (id));
+alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+insert into users (name, email, age, created_at) values ('Ann Legacy', 'ann@example.com', 31, now());
+insert into users (name, email, age, created_at) values ('Ben Legacy', 'ben@example.com', 42, now());
+insert into users (name, email, age, created_at) values ('Cat Legacy', 'cat@example.com', null, now());